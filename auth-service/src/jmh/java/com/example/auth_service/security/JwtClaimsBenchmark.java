@@ -0,0 +1,79 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.JwtProperties;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access token size and parse time with the full claim profile against
+ * {@code jwt.compact-claims}. Sizes are printed once at setup, as the bytes of the
+ * {@code Authorization} header value every API call carries.
+ * <p>
+ * Run with {@code ./gradlew :auth-service:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtClaimsBenchmark {
+
+    private static final String SECRET = "bXlTZWNyZXRLZXlGb3JKd3RUb2tlbkdlbmVyYXRpb25BbmRWYWxpZGF0aW9uMTIzNDU2Nzg5MDEyMzQ1Njc4OTA=";
+
+    private JwtService fullClaims;
+    private JwtService compactClaims;
+    private String fullToken;
+    private String compactToken;
+
+    @Setup
+    public void setUp() {
+        fullClaims = new JwtService(properties(false));
+        compactClaims = new JwtService(properties(true));
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("jane.doe@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .roles(Set.of(Role.builder().name(Role.USER).build(), Role.builder().name(Role.ADMIN).build()))
+                .build();
+        fullToken = fullClaims.generateAccessToken(user);
+        compactToken = compactClaims.generateAccessToken(user);
+
+        int full = ("Bearer " + fullToken).getBytes(StandardCharsets.US_ASCII).length;
+        int compact = ("Bearer " + compactToken).getBytes(StandardCharsets.US_ASCII).length;
+        System.out.printf("%nAuthorization header: full claims %d bytes, compact claims %d bytes (%.0f%% smaller)%n",
+                full, compact, 100.0 * (full - compact) / full);
+    }
+
+    @Benchmark
+    public Optional<ParsedToken> parseFullClaims() {
+        return fullClaims.parse(fullToken);
+    }
+
+    @Benchmark
+    public Optional<ParsedToken> parseCompactClaims() {
+        return compactClaims.parse(compactToken);
+    }
+
+    private static JwtProperties properties(boolean compact) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiry(900_000L);
+        properties.setRefreshTokenExpiry(604_800_000L);
+        properties.setIssuer("taskflow-auth-service");
+        properties.setCompactClaims(compact);
+        return properties;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.JwtProperties;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in JwtAuthenticationFilter: the previous
+ * validateToken + isRefreshToken + extractUserId sequence (three verifications, each
+ * rebuilding the key and parser) against a single {@link JwtService#parse(String)}.
+ * <p>
+ * Run with {@code ./gradlew :auth-service:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "bXlTZWNyZXRLZXlGb3JKd3RUb2tlbkdlbmVyYXRpb25BbmRWYWxpZGF0aW9uMTIzNDU2Nzg5MDEyMzQ1Njc4OTA=";
+
+    private JwtService jwtService;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiry(900_000L);
+        properties.setRefreshTokenExpiry(604_800_000L);
+        properties.setIssuer("taskflow-auth-service");
+        jwtService = new JwtService(properties);
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("jane.doe@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .roles(Set.of(Role.builder().name(Role.USER).build(), Role.builder().name(Role.ADMIN).build()))
+                .build();
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public UUID previousFilterPath() {
+        legacyParse(accessToken);
+        Claims claims = legacyParse(accessToken);
+        if ("refresh".equals(claims.get("type", String.class))) {
+            return null;
+        }
+        return UUID.fromString(legacyParse(accessToken).getSubject());
+    }
+
+    @Benchmark
+    public Optional<ParsedToken> parseOnce() {
+        return jwtService.parse(accessToken);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
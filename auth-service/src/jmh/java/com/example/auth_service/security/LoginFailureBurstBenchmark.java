@@ -0,0 +1,104 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.AuthServiceApplication;
+import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 500 threads failing logins against one account at once: the previous per-attempt
+ * {@code UPDATE users} in its own transaction against {@link LoginAttemptTracker#recordFailure(User)}.
+ * Sample mode reports p50/p99 per attempt for each; every iteration starts on a fresh account.
+ * <p>
+ * Runs the application on an in-memory H2 database with the default pool of 10 connections.
+ * Run with {@code ./gradlew :auth-service:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(500)
+public class LoginFailureBurstBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private LoginAttemptTracker loginAttemptTracker;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+    private SecurityProperties.Login login;
+
+    private User user;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(AuthServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:burst;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "spring.flyway.enabled=false",
+                        "security.password.target-hash-latency=0",
+                        "email.outbox.enabled=false",
+                        "warmup.enabled=false")
+                .run();
+        loginAttemptTracker = context.getBean(LoginAttemptTracker.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        login = context.getBean(SecurityProperties.class).getLogin();
+    }
+
+    @Setup(Level.Iteration)
+    public void newAccount() {
+        user = userRepository.save(User.builder()
+                .email("burst-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .firstName("Burst")
+                .lastName("Test")
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * What AuthService did per failed login before the tracker: count from the user loaded
+     * for the request, lock at the threshold, write both through.
+     */
+    @Benchmark
+    public void perAttemptUpdate() {
+        int attempts = user.getFailedLoginAttempts() + 1;
+        Instant lockedUntil = attempts >= login.getMaxAttempts()
+                ? Instant.now().plusMillis(login.getLockoutDuration())
+                : null;
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.updateLoginAttempts(user.getId(), attempts, lockedUntil));
+    }
+
+    @Benchmark
+    public void loginAttemptTracker() {
+        loginAttemptTracker.recordFailure(user);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.auth_service.template;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the password reset email with {@link TemplateEngine#process} (template cache
+ * on, as in production) against the compiled {@link RenderPlan}.
+ * <p>
+ * Run with {@code ./gradlew :auth-service:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailTemplateBenchmark {
+
+    private static final String TEMPLATE = "password-reset";
+
+    private TemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        templateEngine = new TemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        renderer = new EmailTemplateRenderer(templateEngine, true);
+        variables = Map.of(
+                "firstName", "Jane",
+                "resetUrl", "http://localhost:3000/reset-password?token=3f9a6c1e-7b2d-4e8f-9a0b-1c2d3e4f5a6b",
+                "expiryMinutes", 60);
+    }
+
+    @Benchmark
+    public String thymeleafProcess() {
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(TEMPLATE, context);
+    }
+
+    @Benchmark
+    public String renderPlan() {
+        return renderer.render(TEMPLATE, variables);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "email.outbox")
+public class EmailOutboxProperties {
+
+    private Boolean enabled = true;
+    private Long pollInterval = 1000L;
+    private Integer batchSize = 50;  // messages per SMTP connection
+    private Integer concurrency = 2;  // batches in flight
+    private Integer maxAttempts = 8;
+    private Long initialBackoff = 30000L;
+    private Long maxBackoff = 3600000L;
+    private Long leaseDuration = 300000L;  // a claimed batch is retried after this if the worker dies
+}
@@ -15,4 +15,5 @@ public class JwtProperties {
     private Long accessTokenExpiry;
     private Long refreshTokenExpiry;
     private String issuer;
+    private Boolean compactClaims = false;  // short claims, roles as a bitmask, no email or issuer
 }
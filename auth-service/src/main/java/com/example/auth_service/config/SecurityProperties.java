@@ -14,12 +14,21 @@ public class SecurityProperties {
     private Password password = new Password();
     private Login login = new Login();
     private RateLimit rateLimit = new RateLimit();
+    private PrincipalCache principalCache = new PrincipalCache();
+    private Hashing hashing = new Hashing();
+    private Roles roles = new Roles();
+    private Internal internal = new Internal();
 
     @Getter
     @Setter
     public static class Password {
-        private Integer bcryptStrength = 12;
         private Integer minLength = 8;
+        private String algorithm = "bcrypt";  // bcrypt or argon2id
+        private Long targetHashLatency = 150L;  // ms, 0 disables calibration
+        private Integer bcryptStrength = 12;  // floor when calibrating
+        private Integer argon2MemoryKib = 19456;
+        private Integer argon2Parallelism = 1;
+        private Integer argon2Iterations = 2;  // floor when calibrating
     }
 
     @Getter
@@ -27,12 +36,48 @@ public class SecurityProperties {
     public static class Login {
         private Integer maxAttempts = 5;
         private Long lockoutDuration = 900000L;
+        private Long flushInterval = 5000L;  // write-behind of failed attempt counts
     }
 
     @Getter
     @Setter
     public static class RateLimit {
-        private Integer requestsPerWindow = 100;
+        private Integer requestsPerWindow = 100;  // per client IP and endpoint
+        private Integer accountRequestsPerWindow = 10;  // per email and endpoint
+        private Integer accountIpRequestsPerWindow = 5;  // per email+IP and endpoint
         private Long windowDuration = 900000L;
+        private Integer verificationEmailsPerWindow = 3;
+        private Long verificationWindowDuration = 3600000L;
+        private Integer maxKeys = 100000;  // per limiter
+        private Integer stripes = 16;
+        private Long evictionInterval = 60000L;
+    }
+
+    @Getter
+    @Setter
+    public static class PrincipalCache {
+        private Integer maxSize = 10000;
+        private Long ttl = 60000L;
+    }
+
+    @Getter
+    @Setter
+    public static class Hashing {
+        private Integer threads = 0;  // 0 = one per available processor
+        private Integer queueCapacity = 64;
+        private Integer continuationThreads = 10;  // run the DB work chained on a hash; match the connection pool
+    }
+
+    @Getter
+    @Setter
+    public static class Roles {
+        private Long refreshInterval = 30000L;  // version poll for changes made on other replicas
+    }
+
+    @Getter
+    @Setter
+    public static class Internal {
+        private String apiKey = "";  // X-Internal-Api-Key for service-to-service calls, blank disables
+        private Integer maxIntrospectionBatch = 500;  // tokens plus user ids per request
     }
 }
@@ -13,4 +13,24 @@ public class TokenProperties {
 
     private Long emailVerificationExpiry;
     private Long passwordResetExpiry;
+    private String verificationMode = "stored";  // stored (verification_tokens rows) or signed (HMAC, no rows)
+    private String signingSecret;  // HMAC key for signed mode
+    private Partitions partitions = new Partitions();
+    private Cleanup cleanup = new Cleanup();
+
+    @Getter
+    @Setter
+    public static class Partitions {
+        private Integer daysAhead = 14;
+        private Integer retentionDays = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Cleanup {
+        private Long interval = 3600000L;
+        private Integer batchSize = 1000;
+        private Long batchPause = 100L;
+        private Long timeBudget = 60000L;
+    }
 }
@@ -0,0 +1,17 @@
+package com.example.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "users.import")
+public class UserImportProperties {
+
+    private Integer chunkSize = 500;  // rows per duplicate check and insert transaction
+    private Integer hashThreads = 0;  // 0 = half of the available processors
+    private Integer maxRows = 200000;
+}
@@ -2,7 +2,10 @@ package com.example.auth_service.controller;
 
 import com.example.auth_service.dto.request.*;
 import com.example.auth_service.dto.response.*;
+import com.example.auth_service.ratelimit.AuthRateLimiter;
+import com.example.auth_service.ratelimit.AuthRateLimiter.Endpoint;
 import com.example.auth_service.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,22 +13,27 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
     /**
      * POST /register
      * Register a new user account
      */
     @PostMapping("/register")
-    public ResponseEntity<RegisterResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<RegisterResponse>> register(@Valid @RequestBody RegisterRequest request,
+                                                                 HttpServletRequest httpRequest) {
         log.debug("Registration request received for email: {}", maskEmail(request.getEmail()));
-        RegisterResponse response = authService.register(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        authRateLimiter.check(Endpoint.REGISTER, request.getEmail(), httpRequest.getRemoteAddr());
+        return authService.register(request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
     /**
@@ -33,10 +41,11 @@ public class AuthController {
      * Authenticate user and issue JWT tokens
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                         HttpServletRequest httpRequest) {
         log.debug("Login request received for email: {}", maskEmail(request.getEmail()));
-        AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+        authRateLimiter.check(Endpoint.LOGIN, request.getEmail(), httpRequest.getRemoteAddr());
+        return authService.login(request).thenApply(ResponseEntity::ok);
     }
 
     /**
@@ -91,8 +100,10 @@ public class AuthController {
      * Request password reset email
      */
     @PostMapping("/forgot-password")
-    public ResponseEntity<MessageResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+    public ResponseEntity<MessageResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request,
+                                                          HttpServletRequest httpRequest) {
         log.debug("Forgot password request received for email: {}", maskEmail(request.getEmail()));
+        authRateLimiter.check(Endpoint.FORGOT_PASSWORD, request.getEmail(), httpRequest.getRemoteAddr());
         MessageResponse response = authService.forgotPassword(request);
         return ResponseEntity.ok(response);
     }
@@ -102,10 +113,11 @@ public class AuthController {
      * Reset password using token
      */
     @PostMapping("/reset-password")
-    public ResponseEntity<MessageResponse> resetPassword(@Valid @RequestBody ResetPasswordRequest request) {
+    public CompletableFuture<ResponseEntity<MessageResponse>> resetPassword(@Valid @RequestBody ResetPasswordRequest request,
+                                                                          HttpServletRequest httpRequest) {
         log.debug("Reset password request received");
-        MessageResponse response = authService.resetPassword(request);
-        return ResponseEntity.ok(response);
+        authRateLimiter.check(Endpoint.RESET_PASSWORD, null, httpRequest.getRemoteAddr());
+        return authService.resetPassword(request).thenApply(ResponseEntity::ok);
     }
 
     /**
@@ -0,0 +1,30 @@
+package com.example.auth_service.controller;
+
+import com.example.auth_service.dto.request.IntrospectRequest;
+import com.example.auth_service.dto.response.IntrospectResponse;
+import com.example.auth_service.service.IntrospectionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/introspect")
+@RequiredArgsConstructor
+public class IntrospectionController {
+
+    private final IntrospectionService introspectionService;
+
+    /**
+     * POST /introspect/batch
+     * Current status and roles for a batch of access tokens and/or user ids (internal services only)
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('INTERNAL_SERVICE')")
+    public ResponseEntity<IntrospectResponse> introspectBatch(@RequestBody IntrospectRequest request) {
+        log.debug("Batch introspection request received");
+        return ResponseEntity.ok(introspectionService.introspect(request));
+    }
+}
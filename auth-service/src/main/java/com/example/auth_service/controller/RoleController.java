@@ -1,9 +1,11 @@
 package com.example.auth_service.controller;
 
 import com.example.auth_service.dto.request.AssignRoleRequest;
+import com.example.auth_service.dto.request.BulkRoleRequest;
 import com.example.auth_service.dto.request.CreateRoleRequest;
 import com.example.auth_service.dto.request.SetUserRolesRequest;
 import com.example.auth_service.dto.request.UpdateRoleRequest;
+import com.example.auth_service.dto.response.BulkRoleResult;
 import com.example.auth_service.dto.response.MessageResponse;
 import com.example.auth_service.dto.response.RoleResponse;
 import com.example.auth_service.dto.response.UserResponse;
@@ -136,6 +138,17 @@ public class RoleController {
         return ResponseEntity.ok(UserResponse.fromUser(user));
     }
 
+    /**
+     * POST /roles/users/bulk
+     * Assign or remove roles for many users at once (Admin only)
+     */
+    @PostMapping("/users/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<List<BulkRoleResult>> applyBulkRoleChanges(@Valid @RequestBody BulkRoleRequest request) {
+        log.debug("Bulk role change request received");
+        return ResponseEntity.ok(roleService.applyBulkRoleChanges(request));
+    }
+
     /**
      * GET /roles/users/{userId}
      * Get all roles for a user (Admin only)
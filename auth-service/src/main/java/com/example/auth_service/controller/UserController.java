@@ -0,0 +1,98 @@
+package com.example.auth_service.controller;
+
+import com.example.auth_service.dto.request.UserSummariesRequest;
+import com.example.auth_service.dto.response.ImportUserResult;
+import com.example.auth_service.dto.response.UserDirectoryPage;
+import com.example.auth_service.dto.response.UserSummary;
+import com.example.auth_service.service.UserDirectoryService;
+import com.example.auth_service.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService userImportService;
+    private final UserDirectoryService userDirectoryService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * POST /users/import
+     * Bulk-create users from a CSV or NDJSON upload (Admin only). The body is read as a
+     * stream and one NDJSON result per row is written back as each chunk completes; the
+     * response buffer sends them on as it fills.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(
+                MediaType.parseMediaType(request.getContentType()))
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        log.debug("User import request received ({})", format);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        userImportService.importUsers(reader, format, result -> write(out, result));
+        out.flush();
+    }
+
+    /**
+     * POST /users/summaries
+     * Name and avatar for up to 500 users in one call, for other services rendering a
+     * member list (internal API key) and admins. Unknown ids are left out of the response.
+     */
+    @PostMapping("/summaries")
+    @PreAuthorize("hasAnyRole('INTERNAL_SERVICE', 'ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<List<UserSummary>> getUserSummaries(@Valid @RequestBody UserSummariesRequest request) {
+        return ResponseEntity.ok(userDirectoryService.getSummaries(request.getIds()));
+    }
+
+    /**
+     * GET /users?q=&role=&cursor=&size=
+     * Newest-first user directory with prefix search on email and name (Admin only).
+     * Follow {@code nextCursor} for further pages.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<UserDirectoryPage> listUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userDirectoryService.search(q, role, cursor, size));
+    }
+
+    private void write(OutputStream out, ImportUserResult result) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.auth_service.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Either one role to assign to or remove from {@code userIds}, or a role diff per user in
+ * {@code changes}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoleRequest {
+
+    public enum Action {
+        ASSIGN, REMOVE
+    }
+
+    private String roleName;
+
+    private Action action;
+
+    @Size(max = 5000, message = "At most 5000 users per request")
+    private List<UUID> userIds;
+
+    @Valid
+    @Size(max = 5000, message = "At most 5000 users per request")
+    private List<UserRoleChange> changes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserRoleChange {
+
+        @NotNull(message = "User id is required")
+        private UUID userId;
+
+        private Set<String> add;
+
+        private Set<String> remove;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.auth_service.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Access tokens and/or user ids to check; together at most
+ * {@code security.internal.max-introspection-batch}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectRequest {
+
+    private List<String> tokens;
+
+    private List<UUID> userIds;
+}
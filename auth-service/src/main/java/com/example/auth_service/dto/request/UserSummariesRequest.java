@@ -0,0 +1,22 @@
+package com.example.auth_service.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummariesRequest {
+
+    @NotNull(message = "User ids are required")
+    @Size(max = 500, message = "At most 500 users per request")
+    private List<UUID> ids;
+}
@@ -0,0 +1,13 @@
+package com.example.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkRoleResult(UUID userId, Status status, String message) {
+
+    public enum Status {
+        UPDATED, UNCHANGED, NOT_FOUND, REJECTED
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one import row, written as one NDJSON line.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportUserResult(int line, String email, Status status, UUID id, String message) {
+
+    public enum Status {
+        CREATED, EXISTS, INVALID, FAILED
+    }
+
+    public static ImportUserResult created(int line, String email, UUID id) {
+        return new ImportUserResult(line, email, Status.CREATED, id, null);
+    }
+
+    public static ImportUserResult of(int line, String email, Status status, String message) {
+        return new ImportUserResult(line, email, status, null, message);
+    }
+}
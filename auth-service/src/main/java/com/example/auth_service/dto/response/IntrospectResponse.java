@@ -0,0 +1,9 @@
+package com.example.auth_service.dto.response;
+
+import java.util.List;
+
+/**
+ * Results in the order of the request's {@code tokens} and {@code userIds}.
+ */
+public record IntrospectResponse(List<IntrospectionResult> tokens, List<IntrospectionResult> users) {
+}
@@ -0,0 +1,22 @@
+package com.example.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Current state of one user. {@code rolesChanged} is only set for tokens and tells whether
+ * the roles in the token differ from the user's roles now.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IntrospectionResult(UUID userId, Status status, Set<String> roles, Boolean rolesChanged) {
+
+    public enum Status {
+        ACTIVE, DISABLED, LOCKED, NOT_FOUND, INVALID_TOKEN
+    }
+
+    public static IntrospectionResult of(UUID userId, Status status) {
+        return new IntrospectionResult(userId, status, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserDirectoryEntry(
+        UUID id,
+        String email,
+        String firstName,
+        String lastName,
+        String avatarUrl,
+        boolean emailVerified,
+        boolean active,
+        Set<String> roles,
+        Instant createdAt
+) {
+}
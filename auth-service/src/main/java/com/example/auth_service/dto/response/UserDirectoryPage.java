@@ -0,0 +1,13 @@
+package com.example.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One page of the user directory; pass {@code nextCursor} back as {@code cursor} for the
+ * next one. It is absent on the last page.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserDirectoryPage(List<UserDirectoryEntry> items, String nextCursor) {
+}
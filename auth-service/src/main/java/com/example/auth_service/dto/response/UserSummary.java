@@ -0,0 +1,12 @@
+package com.example.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Just enough of a user to render a member list.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserSummary(UUID id, String firstName, String lastName, String avatarUrl) {
+}
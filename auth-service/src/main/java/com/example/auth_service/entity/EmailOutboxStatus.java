@@ -0,0 +1,7 @@
+package com.example.auth_service.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
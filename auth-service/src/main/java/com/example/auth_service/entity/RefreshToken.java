@@ -23,8 +23,11 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    /**
+     * SHA-256 of the signed refresh JWT, see {@link com.example.auth_service.security.TokenDigest}.
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
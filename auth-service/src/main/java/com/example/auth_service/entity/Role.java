@@ -27,6 +27,7 @@ public class Role {
     @Column(length = 255)
     private String description;
 
+    // Inverse side, not maintained by User.addRole/removeRole; do not load it on hot paths
     @ManyToMany(mappedBy = "roles")
     @Builder.Default
     private Set<User> users = new HashSet<>();
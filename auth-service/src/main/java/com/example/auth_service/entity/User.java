@@ -2,6 +2,7 @@ package com.example.auth_service.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -69,6 +70,13 @@ public class User {
     @Column(name = "locked_until")
     private Instant lockedUntil;
 
+    // Version of the user's signed verification/reset tokens. Only changed by
+    // UserRepository's nonce queries, never by an entity save that could write back a stale value.
+    @Column(name = "token_nonce", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer tokenNonce = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
     private Instant createdAt = Instant.now();
@@ -99,15 +107,14 @@ public class User {
         return lockedUntil != null && lockedUntil.isAfter(Instant.now());
     }
 
-    // Helper methods for role management
+    // Helper methods for role management. Only the owning side is touched: updating
+    // Role.users would load every member of the role.
     public void addRole(Role role) {
         this.roles.add(role);
-        role.getUsers().add(this);
     }
 
     public void removeRole(Role role) {
         this.roles.remove(role);
-        role.getUsers().remove(this);
     }
 
     public boolean hasRole(String roleName) {
@@ -0,0 +1,10 @@
+package com.example.auth_service.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class HashingCapacityExceededException extends AuthException {
+
+    public HashingCapacityExceededException() {
+        super("Service is busy. Please try again shortly.", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.auth_service.ratelimit;
+
+import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Throttles the abuse-prone auth endpoints per client IP, per account and per account+IP,
+ * before any password hashing or database work happens. Counters live in this instance
+ * only, so with N replicas the effective limit is up to N times the configured one.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    public enum Endpoint {
+        LOGIN, REGISTER, FORGOT_PASSWORD, RESET_PASSWORD
+    }
+
+    private final SlidingWindowLimiter byIp;
+    private final SlidingWindowLimiter byAccount;
+    private final SlidingWindowLimiter byAccountAndIp;
+    private final SlidingWindowLimiter verificationEmails;
+    private final MeterRegistry meterRegistry;
+
+    public AuthRateLimiter(SecurityProperties securityProperties, MeterRegistry meterRegistry) {
+        SecurityProperties.RateLimit properties = securityProperties.getRateLimit();
+        int maxKeys = properties.getMaxKeys();
+        int stripes = properties.getStripes();
+        this.byIp = new SlidingWindowLimiter(properties.getRequestsPerWindow(),
+                properties.getWindowDuration(), maxKeys, stripes);
+        this.byAccount = new SlidingWindowLimiter(properties.getAccountRequestsPerWindow(),
+                properties.getWindowDuration(), maxKeys, stripes);
+        this.byAccountAndIp = new SlidingWindowLimiter(properties.getAccountIpRequestsPerWindow(),
+                properties.getWindowDuration(), maxKeys, stripes);
+        this.verificationEmails = new SlidingWindowLimiter(properties.getVerificationEmailsPerWindow(),
+                properties.getVerificationWindowDuration(), maxKeys, stripes);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("rate.limit.keys", this, limiter -> limiter.byIp.size()
+                        + limiter.byAccount.size() + limiter.byAccountAndIp.size() + limiter.verificationEmails.size())
+                .register(meterRegistry);
+        FunctionCounter.builder("rate.limit.untracked", this, limiter -> limiter.byIp.untrackedCount()
+                        + limiter.byAccount.untrackedCount() + limiter.byAccountAndIp.untrackedCount()
+                        + limiter.verificationEmails.untrackedCount())
+                .description("Requests let through uncounted because a limiter was full of live keys")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts one request against the IP and, when {@code email} is given, the account and
+     * account+IP limits. All of them are checked before any is counted, so a request turned
+     * away by one limit does not use up the others. A concurrent request can still take the
+     * last slot between the check and the count; the limit holds, the quota spent is the
+     * only cost.
+     *
+     * @throws RateLimitExceededException when any of them is exhausted
+     */
+    public void check(Endpoint endpoint, String email, String ip) {
+        String prefix = endpoint.name() + ':';
+        String ipKey = prefix + ip;
+        String account = email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+        String accountIpKey = account == null ? null : prefix + account + '|' + ip;
+        String accountKey = account == null ? null : prefix + account;
+
+        if (!byIp.hasCapacity(ipKey)) {
+            reject(endpoint, "ip");
+        }
+        if (account != null && !byAccountAndIp.hasCapacity(accountIpKey)) {
+            reject(endpoint, "account_ip");
+        }
+        if (account != null && !byAccount.hasCapacity(accountKey)) {
+            reject(endpoint, "account");
+        }
+
+        if (!byIp.tryAcquire(ipKey)) {
+            reject(endpoint, "ip");
+        }
+        if (account != null && !byAccountAndIp.tryAcquire(accountIpKey)) {
+            reject(endpoint, "account_ip");
+        }
+        if (account != null && !byAccount.tryAcquire(accountKey)) {
+            reject(endpoint, "account");
+        }
+    }
+
+    /**
+     * Counts one verification email for the user.
+     *
+     * @throws RateLimitExceededException when the user has used up the window's allowance
+     */
+    public void checkVerificationEmail(UUID userId) {
+        if (!verificationEmails.tryAcquire(userId.toString())) {
+            rejected("resend_verification", "account").increment();
+            throw new RateLimitExceededException("Maximum verification emails sent. Please try again later.");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.eviction-interval:60000}")
+    public void evictIdle() {
+        int evicted = byIp.evictIdle() + byAccount.evictIdle()
+                + byAccountAndIp.evictIdle() + verificationEmails.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit keys", evicted);
+        }
+    }
+
+    private void reject(Endpoint endpoint, String dimension) {
+        rejected(endpoint.name().toLowerCase(Locale.ROOT), dimension).increment();
+        throw new RateLimitExceededException();
+    }
+
+    private Counter rejected(String endpoint, String dimension) {
+        return Counter.builder("rate.limit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("dimension", dimension)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.auth_service.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window counter: the count of the previous fixed window, weighted by how much of
+ * it still overlaps the sliding window, plus the count of the current one. Each key's state
+ * is packed into a single {@link AtomicLong} and updated with CAS, so the hot path neither
+ * locks nor allocates.
+ * <p>
+ * Keys are spread over independent stripes, each holding at most {@code maxKeys / stripes}
+ * entries. Keys idle for two windows carry no information and are dropped by
+ * {@link #evictIdle()}. A new key that arrives at a full stripe takes the place of an idle
+ * entry; if none is found it is let through untracked and counted in {@link #untrackedCount()}.
+ * Failing open keeps a flood of distinct keys from locking out legitimate new ones, and it
+ * never grows memory.
+ */
+public class SlidingWindowLimiter {
+
+    private static final long COUNT_MASK = 0xFFFFL;
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+    private static final int EVICTION_SCAN = 64;  // entries looked at for an idle slot
+
+    private final int limit;
+    private final long windowMillis;
+    private final int keysPerStripe;
+    private final Stripe[] stripes;
+    private final LongSupplier clock;
+    private final AtomicLong untracked = new AtomicLong();
+
+    public SlidingWindowLimiter(int limit, long windowMillis, int maxKeys, int stripes) {
+        this(limit, windowMillis, maxKeys, stripes, System::currentTimeMillis);
+    }
+
+    SlidingWindowLimiter(int limit, long windowMillis, int maxKeys, int stripes, LongSupplier clock) {
+        if (limit <= 0 || limit > COUNT_MASK || windowMillis <= 0 || stripes <= 0 || maxKeys < stripes) {
+            throw new IllegalArgumentException("Invalid rate limit settings");
+        }
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.keysPerStripe = maxKeys / stripes;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.clock = clock;
+    }
+
+    /**
+     * Records one request for {@code key} and returns {@code true}, or returns {@code false}
+     * without recording anything when the key is over its limit.
+     */
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        long index = (now / windowMillis) & INDEX_MASK;
+        double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+        AtomicLong state = stateFor(key, index);
+        if (state == null) {
+            return true;
+        }
+
+        while (true) {
+            long current = state.get();
+            long rolled = roll(current, index);
+            if (isOverLimit(rolled, previousWeight)) {
+                return false;
+            }
+            if (state.compareAndSet(current, rolled + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Whether {@link #tryAcquire} would currently let a request for {@code key} through.
+     * Records nothing and creates no entry.
+     */
+    public boolean hasCapacity(String key) {
+        AtomicLong state = stripeFor(key).keys.get(key);
+        if (state == null) {
+            return true;
+        }
+        long now = clock.getAsLong();
+        long index = (now / windowMillis) & INDEX_MASK;
+        double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+        return !isOverLimit(roll(state.get(), index), previousWeight);
+    }
+
+    /**
+     * Requests let through without a counter because their stripe was full of live keys.
+     */
+    public long untrackedCount() {
+        return untracked.get();
+    }
+
+    /**
+     * Drops keys that have seen no request for two full windows.
+     */
+    public int evictIdle() {
+        long index = (clock.getAsLong() / windowMillis) & INDEX_MASK;
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            for (var entry : stripe.keys.entrySet()) {
+                if (isIdle(entry.getValue().get(), index) && stripe.keys.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.keys.mappingCount();
+        }
+        return size;
+    }
+
+    private boolean isOverLimit(long state, double previousWeight) {
+        long previousCount = (state >>> 16) & COUNT_MASK;
+        long currentCount = state & COUNT_MASK;
+        return previousCount * previousWeight + currentCount >= limit;
+    }
+
+    /**
+     * @return the key's state, or {@code null} if its stripe is full and has no idle entry
+     */
+    private AtomicLong stateFor(String key, long index) {
+        Stripe stripe = stripeFor(key);
+        AtomicLong state = stripe.keys.get(key);
+        if (state != null) {
+            return state;
+        }
+        if (stripe.keys.mappingCount() >= keysPerStripe && !evictOneIdle(stripe, index)) {
+            untracked.incrementAndGet();
+            return null;
+        }
+        return stripe.keys.computeIfAbsent(key, k -> new AtomicLong(index << 32));
+    }
+
+    /**
+     * Removes one idle entry among the first {@value #EVICTION_SCAN} of the stripe, so the
+     * cost of admitting a key into a full stripe stays bounded.
+     */
+    private static boolean evictOneIdle(Stripe stripe, long index) {
+        int scanned = 0;
+        for (var entry : stripe.keys.entrySet()) {
+            if (isIdle(entry.getValue().get(), index) && stripe.keys.remove(entry.getKey(), entry.getValue())) {
+                return true;
+            }
+            if (++scanned >= EVICTION_SCAN) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[Math.floorMod(spread(key.hashCode()), stripes.length)];
+    }
+
+    /**
+     * Moves a packed state ({@code index:32 | previous:16 | current:16}) into window
+     * {@code index}: unchanged within the same window, current becomes previous after one
+     * window, and both reset after two or more.
+     */
+    private static long roll(long state, long index) {
+        long elapsed = (index - (state >>> 32)) & INDEX_MASK;
+        if (elapsed == 0) {
+            return state;
+        }
+        long previous = elapsed == 1 ? state & COUNT_MASK : 0;
+        return (index << 32) | (previous << 16);
+    }
+
+    private static boolean isIdle(long state, long index) {
+        return ((index - (state >>> 32)) & INDEX_MASK) >= 2;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> keys = new ConcurrentHashMap<>();
+    }
+}
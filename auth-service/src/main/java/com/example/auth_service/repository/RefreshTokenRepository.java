@@ -14,19 +14,29 @@ import java.util.UUID;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Lookup that includes the partition key, so only one partition is searched.
+     */
+    Optional<RefreshToken> findByTokenHashAndExpiresAt(byte[] tokenHash, Instant expiresAt);
 
     @Modifying
     @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.user.id = :userId")
     void revokeAllByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Revokes one token for rotation. Filtering on the partition key as well as the id keeps the
+     * update to one partition; returns 0 if the token was revoked concurrently.
+     */
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.token = :token")
-    void revokeByToken(@Param("token") String token);
+    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true " +
+            "WHERE rt.id = :id AND rt.expiresAt = :expiresAt AND rt.isRevoked = false")
+    int revokeForRotation(@Param("id") UUID id, @Param("expiresAt") Instant expiresAt);
 
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") Instant now);
+    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.tokenHash = :tokenHash")
+    void revokeByTokenHash(@Param("tokenHash") byte[] tokenHash);
 
     @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.isRevoked = false AND rt.expiresAt > :now")
     long countActiveTokensByUserId(@Param("userId") UUID userId, @Param("now") Instant now);
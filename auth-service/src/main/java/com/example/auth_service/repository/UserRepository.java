@@ -1,6 +1,8 @@
 package com.example.auth_service.repository;
 
+import com.example.auth_service.dto.response.UserSummary;
 import com.example.auth_service.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,16 +10,28 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
+    @EntityGraph(attributePaths = "roles")
+    List<User> findAllByIdIn(Collection<UUID> ids);
+
+    @Query("""
+            SELECT new com.example.auth_service.dto.response.UserSummary(u.id, u.firstName, u.lastName, u.avatarUrl)
+            FROM User u WHERE u.id IN :ids
+            """)
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
     @Modifying
     @Query("UPDATE User u SET u.lastLoginAt = :lastLoginAt WHERE u.id = :userId")
     void updateLastLoginAt(@Param("userId") UUID userId, @Param("lastLoginAt") Instant lastLoginAt);
@@ -26,10 +40,65 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("UPDATE User u SET u.failedLoginAttempts = :attempts, u.lockedUntil = :lockedUntil WHERE u.id = :userId")
     void updateLoginAttempts(@Param("userId") UUID userId, @Param("attempts") Integer attempts, @Param("lockedUntil") Instant lockedUntil);
 
+    /**
+     * Adds failures counted in memory. Relative, so it composes with resets and with counts
+     * written by other replicas.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.failedLoginAttempts = u.failedLoginAttempts + :delta WHERE u.id = :userId")
+    void addFailedLoginAttempts(@Param("userId") UUID userId, @Param("delta") Integer delta);
+
+    @Query("SELECT u.failedLoginAttempts FROM User u WHERE u.id = :userId")
+    Optional<Integer> findFailedLoginAttempts(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.lockedUntil = :lockedUntil WHERE u.id = :userId")
+    void lockAccount(@Param("userId") UUID userId, @Param("lockedUntil") Instant lockedUntil);
+
     @Modifying
     @Query("UPDATE User u SET u.failedLoginAttempts = 0, u.lockedUntil = null WHERE u.id = :userId")
     void resetLoginAttempts(@Param("userId") UUID userId);
 
+    @Modifying
+    @Query("UPDATE User u SET u.lastLoginAt = :loginAt, u.failedLoginAttempts = 0, u.lockedUntil = null WHERE u.id = :userId")
+    void recordSuccessfulLogin(@Param("userId") UUID userId, @Param("loginAt") Instant loginAt);
+
+    /**
+     * {@link #recordSuccessfulLogin} and the refresh-token insert in one PostgreSQL statement.
+     *
+     * @return 1, or 0 if the user no longer exists
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH login AS (
+                UPDATE users SET last_login_at = :loginAt, failed_login_attempts = 0, locked_until = NULL
+                WHERE id = :userId
+                RETURNING id
+            )
+            INSERT INTO refresh_tokens (user_id, token_hash, expires_at, is_revoked, created_at)
+            SELECT id, :tokenHash, :expiresAt, FALSE, :loginAt FROM login
+            """)
+    int recordSuccessfulLoginWithRefreshToken(@Param("userId") UUID userId, @Param("loginAt") Instant loginAt,
+                                              @Param("tokenHash") byte[] tokenHash,
+                                              @Param("expiresAt") Instant expiresAt);
+
+    @Query("SELECT u.tokenNonce FROM User u WHERE u.id = :userId")
+    Optional<Integer> findTokenNonce(@Param("userId") UUID userId);
+
+    /**
+     * Invalidates every outstanding signed token of the user.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokenNonce = u.tokenNonce + 1 WHERE u.id = :userId")
+    void bumpTokenNonce(@Param("userId") UUID userId);
+
+    /**
+     * Uses a signed token: 1 if {@code nonce} was current, 0 if the token was already used or superseded.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokenNonce = u.tokenNonce + 1 WHERE u.id = :userId AND u.tokenNonce = :nonce")
+    int consumeTokenNonce(@Param("userId") UUID userId, @Param("nonce") Integer nonce);
+
     @Modifying
     @Query("UPDATE User u SET u.emailVerified = true WHERE u.id = :userId")
     void verifyEmail(@Param("userId") UUID userId);
@@ -37,4 +106,9 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Modifying
     @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :userId")
     void updatePassword(@Param("userId") UUID userId, @Param("passwordHash") String passwordHash);
+
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :userId AND u.passwordHash = :oldHash")
+    int replacePasswordHash(@Param("userId") UUID userId, @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash);
 }
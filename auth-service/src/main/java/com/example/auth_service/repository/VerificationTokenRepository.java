@@ -8,7 +8,6 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,11 +25,4 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
     @Modifying
     @Query("UPDATE VerificationToken vt SET vt.used = true WHERE vt.user.id = :userId AND vt.tokenType = :tokenType AND vt.used = false")
     void invalidateTokensByUserAndType(@Param("userId") UUID userId, @Param("tokenType") TokenType tokenType);
-
-    @Modifying
-    @Query("DELETE FROM VerificationToken vt WHERE vt.expiresAt < :now")
-    void deleteExpiredTokens(@Param("now") Instant now);
-
-    @Query("SELECT COUNT(vt) FROM VerificationToken vt WHERE vt.user.id = :userId AND vt.tokenType = :tokenType AND vt.createdAt > :since")
-    long countRecentTokensByUserAndType(@Param("userId") UUID userId, @Param("tokenType") TokenType tokenType, @Param("since") Instant since);
 }
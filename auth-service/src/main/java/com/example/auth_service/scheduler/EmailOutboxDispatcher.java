@@ -0,0 +1,245 @@
+package com.example.auth_service.scheduler;
+
+import com.example.auth_service.config.EmailOutboxProperties;
+import com.example.auth_service.entity.EmailOutbox;
+import com.example.auth_service.entity.EmailOutboxStatus;
+import com.example.auth_service.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers {@link EmailOutbox} rows. Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}
+ * and leased by pushing {@code next_attempt_at} forward, so the SMTP session runs outside any
+ * transaction and a worker that dies mid-batch only delays those rows until the lease ends.
+ * A batch is sent over one SMTP connection; failed messages back off exponentially and are
+ * marked {@link EmailOutboxStatus#DEAD} after {@code email.outbox.max-attempts}.
+ */
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailOutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final AtomicLong depth = new AtomicLong();
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 TransactionTemplate transactionTemplate,
+                                 EmailOutboxProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.executor = Executors.newFixedThreadPool(properties.getConcurrency(), namedThreads());
+        this.inFlight = new Semaphore(properties.getConcurrency());
+
+        Gauge.builder("email.outbox.depth", depth, AtomicLong::get)
+                .description("Emails waiting for delivery")
+                .register(meterRegistry);
+        this.sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed")
+                .description("Delivery attempts that will be retried")
+                .register(meterRegistry);
+        this.dead = Counter.builder("email.outbox.dead")
+                .description("Emails given up on")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts one worker per {@code batch-size} pending rows, up to {@code concurrency}
+     * workers in flight. Each worker keeps draining until it claims a partial batch.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:1000}")
+    public void poll() {
+        if (!properties.getEnabled()) {
+            return;
+        }
+        long pending = emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+        depth.set(pending);
+
+        long wanted = (pending + properties.getBatchSize() - 1) / properties.getBatchSize();
+        for (long i = 0; i < wanted && inFlight.tryAcquire(); i++) {
+            executor.execute(() -> {
+                try {
+                    while (dispatchBatch() == properties.getBatchSize()) {
+                        // full batch, there may be more
+                    }
+                } catch (Exception e) {
+                    log.error("Email outbox worker failed", e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Claims, sends and records one batch on the calling thread.
+     *
+     * @return the number of rows claimed
+     */
+    public int dispatchBatch() {
+        Instant now = Instant.now();
+        List<EmailOutbox> batch = transactionTemplate.execute(status -> {
+            List<EmailOutbox> due = emailOutboxRepository.lockDue(now, properties.getBatchSize());
+            if (!due.isEmpty()) {
+                emailOutboxRepository.lease(due.stream().map(EmailOutbox::getId).toList(),
+                        now.plusMillis(properties.getLeaseDuration()));
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> delivered = new ArrayList<>();
+        Map<UUID, String> failures = new HashMap<>();
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(toMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email.getId(), e.getMessage());
+            }
+        }
+
+        send(messages, delivered, failures);
+
+        transactionTemplate.executeWithoutResult(status -> record(delivered, failures));
+        return batch.size();
+    }
+
+    private void send(Map<MimeMessage, EmailOutbox> messages, List<UUID> delivered, Map<UUID, String> failures) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        Map<Object, Exception> rejected = Map.of();
+        try {
+            mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            outcome = "failure";
+            // Empty when the failure was not tied to individual messages
+            rejected = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            outcome = "failure";
+            rejected = allFailed(messages, e);
+        } finally {
+            sample.stop(Timer.builder("email.send.duration")
+                    .description("One SMTP session delivering a batch")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+
+        for (Map.Entry<MimeMessage, EmailOutbox> entry : messages.entrySet()) {
+            Exception error = rejected.get(entry.getKey());
+            if (error == null) {
+                delivered.add(entry.getValue().getId());
+            } else {
+                failures.put(entry.getValue().getId(), error.getMessage());
+            }
+        }
+    }
+
+    private void record(List<UUID> delivered, Map<UUID, String> failures) {
+        Instant now = Instant.now();
+        if (!delivered.isEmpty()) {
+            emailOutboxRepository.markSent(delivered, now);
+            sent.increment(delivered.size());
+        }
+        for (EmailOutbox email : emailOutboxRepository.findAllById(failures.keySet())) {
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setLastError(truncate(failures.get(email.getId())));
+            if (attempts >= properties.getMaxAttempts()) {
+                email.setStatus(EmailOutboxStatus.DEAD);
+                dead.increment();
+                log.error("Giving up on email {} after {} attempts: {}", email.getId(), attempts, email.getLastError());
+            } else {
+                email.setNextAttemptAt(now.plusMillis(backoff(attempts)));
+                failed.increment();
+                log.warn("Email {} failed (attempt {}), retrying later: {}", email.getId(), attempts, email.getLastError());
+            }
+        }
+    }
+
+    private long backoff(int attempts) {
+        long backoff = properties.getInitialBackoff() << Math.min(attempts - 1, 20);
+        return Math.min(backoff, properties.getMaxBackoff());
+    }
+
+    private MimeMessage toMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, EmailOutbox> messages, Exception e) {
+        Map<Object, Exception> failedMessages = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failedMessages.put(message, e));
+        return failedMessages;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
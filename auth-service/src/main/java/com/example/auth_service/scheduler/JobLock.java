@@ -0,0 +1,136 @@
+package com.example.auth_service.scheduler;
+
+import com.example.auth_service.config.DatabaseDialect;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cluster-wide, non-blocking lock for scheduled jobs so only one replica runs them.
+ * <p>
+ * On PostgreSQL this is a session-level advisory lock held on a dedicated connection for
+ * as long as the lease is open; if the unlock fails, that connection is evicted from the
+ * pool rather than returned still holding the lock. Other databases (H2 in tests) are
+ * single-process, so an in-JVM permit per job name stands in for it. Either lease may be
+ * closed from any thread, and closing it twice is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobLock {
+
+    private final DataSource dataSource;
+    private final DatabaseDialect databaseDialect;
+    private final Map<String, Semaphore> localLocks = new ConcurrentHashMap<>();
+
+    public interface Lease extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * @return a lease to close when the job is done, or empty if another instance holds it
+     */
+    public Optional<Lease> tryAcquire(String jobName) {
+        return databaseDialect.isPostgres() ? tryAdvisoryLock(jobName) : tryLocalLock(jobName);
+    }
+
+    private Optional<Lease> tryAdvisoryLock(String jobName) {
+        long key = jobName.hashCode();
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            if (!queryBoolean(connection, "SELECT pg_try_advisory_lock(?)", key)) {
+                connection.close();
+                return Optional.empty();
+            }
+            Connection held = connection;
+            return Optional.of(once(() -> release(jobName, key, held)));
+        } catch (SQLException e) {
+            log.warn("Could not acquire job lock {}: {}", jobName, e.getMessage());
+            closeQuietly(connection);
+            return Optional.empty();
+        }
+    }
+
+    private void release(String jobName, long key, Connection connection) {
+        boolean released;
+        try {
+            released = queryBoolean(connection, "SELECT pg_advisory_unlock(?)", key);
+            if (!released) {
+                log.error("Job lock {} was not held by its connection on release", jobName);
+            }
+        } catch (SQLException e) {
+            log.error("Failed to release job lock {}: {}", jobName, e.getMessage());
+            released = false;
+        }
+        if (released) {
+            closeQuietly(connection);
+        } else {
+            discard(connection);
+        }
+    }
+
+    /**
+     * Closes the physical connection so the session, and any advisory lock it may still
+     * hold, ends instead of going back to the pool.
+     */
+    private void discard(Connection connection) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                dataSource.unwrap(HikariDataSource.class).evictConnection(connection);
+                return;
+            }
+            connection.abort(Runnable::run);
+        } catch (SQLException e) {
+            log.warn("Failed to discard job lock connection: {}", e.getMessage());
+        }
+        closeQuietly(connection);
+    }
+
+    private Optional<Lease> tryLocalLock(String jobName) {
+        Semaphore permit = localLocks.computeIfAbsent(jobName, name -> new Semaphore(1));
+        return permit.tryAcquire() ? Optional.of(once(permit::release)) : Optional.empty();
+    }
+
+    private static Lease once(Runnable release) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                release.run();
+            }
+        };
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close job lock connection: {}", e.getMessage());
+        }
+    }
+}
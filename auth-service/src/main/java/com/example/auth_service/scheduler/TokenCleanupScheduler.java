@@ -1,39 +1,70 @@
 package com.example.auth_service.scheduler;
 
-import com.example.auth_service.repository.RefreshTokenRepository;
-import com.example.auth_service.repository.VerificationTokenRepository;
+import com.example.auth_service.config.TokenProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TokenCleanupScheduler {
 
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final VerificationTokenRepository verificationTokenRepository;
+    static final String JOB_NAME = "token-cleanup";
+
+    private final TokenPartitionManager tokenPartitionManager;
+    private final JobLock jobLock;
+    private final TokenProperties tokenProperties;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Clean up expired tokens every hour
+     * Every hour, starting at startup, on whichever replica wins the job lock: make sure
+     * upcoming partitions exist, then remove expired tokens within the time budget.
      */
-    @Scheduled(fixedRate = 3600000) // Every hour
-    @Transactional
+    @Scheduled(fixedRateString = "${token.cleanup.interval:3600000}")
     public void cleanupExpiredTokens() {
-        log.info("Starting expired token cleanup...");
+        Optional<JobLock.Lease> lease = jobLock.tryAcquire(JOB_NAME);
+        if (lease.isEmpty()) {
+            log.debug("Token cleanup is running on another instance, skipping");
+            Counter.builder("token.cleanup.skipped").register(meterRegistry).increment();
+            return;
+        }
 
-        Instant now = Instant.now();
+        try (JobLock.Lease ignored = lease.get()) {
+            log.info("Starting expired token cleanup...");
+            long start = System.nanoTime();
+            Instant now = Instant.now();
 
-        // Clean up expired refresh tokens
-        refreshTokenRepository.deleteExpiredTokens(now);
+            tokenPartitionManager.createUpcomingPartitions();
+            TokenPartitionManager.CleanupResult result = tokenPartitionManager.removeExpired(
+                    now, now.plusMillis(tokenProperties.getCleanup().getTimeBudget()));
 
-        // Clean up expired verification tokens
-        verificationTokenRepository.deleteExpiredTokens(now);
+            long elapsed = System.nanoTime() - start;
+            record(result, elapsed);
+            log.info("Expired token cleanup {} in {} ms: {} rows deleted, {} partitions dropped",
+                    result.budgetExhausted() ? "stopped at time budget" : "completed",
+                    elapsed / 1_000_000, result.rowsDeleted(), result.partitionsDropped());
+        }
+    }
 
-        log.info("Expired token cleanup completed");
+    private void record(TokenPartitionManager.CleanupResult result, long elapsedNanos) {
+        Timer.builder("token.cleanup.duration")
+                .tag("outcome", result.budgetExhausted() ? "budget_exhausted" : "completed")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("token.cleanup.rows.deleted")
+                .register(meterRegistry)
+                .increment(result.rowsDeleted());
+        Counter.builder("token.cleanup.partitions.dropped")
+                .register(meterRegistry)
+                .increment(result.partitionsDropped());
     }
 }
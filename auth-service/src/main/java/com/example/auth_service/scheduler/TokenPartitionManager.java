@@ -0,0 +1,151 @@
+package com.example.auth_service.scheduler;
+
+import com.example.auth_service.config.DatabaseDialect;
+import com.example.auth_service.config.TokenProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the daily expiry partitions of the token tables (see V3 migration).
+ * Expired days are detached and dropped as a whole; rows in the DEFAULT partition are
+ * deleted in bounded batches. On databases without partitioning (H2 in tests) the whole
+ * table is cleaned with the batched delete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenPartitionManager {
+
+    static final List<String> TOKEN_TABLES = List.of("refresh_tokens", "verification_tokens");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Pattern PARTITION_NAME = Pattern.compile("^[a-z_]+_p(\\d{8})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TokenProperties tokenProperties;
+    private final DatabaseDialect databaseDialect;
+
+    public record CleanupResult(int partitionsDropped, long rowsDeleted, boolean budgetExhausted) {
+    }
+
+    /**
+     * Creates the partitions for today and the configured number of days ahead. A day that
+     * fails is logged and retried on the next run without holding up the others.
+     */
+    public void createUpcomingPartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (String table : TOKEN_TABLES) {
+            for (int i = 0; i <= tokenProperties.getPartitions().getDaysAhead(); i++) {
+                LocalDate day = today.plusDays(i);
+                try {
+                    jdbcTemplate.queryForList("SELECT create_token_partition(?, ?)", table, Date.valueOf(day));
+                } catch (DataAccessException e) {
+                    log.warn("Could not create partition of {} for {}: {}", table, day, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes tokens that expired before {@code now}. Checked between batches, the
+     * {@code deadline} stops the run early; the rest is picked up by the next run.
+     */
+    public CleanupResult removeExpired(Instant now, Instant deadline) {
+        int partitionsDropped = 0;
+        long rowsDeleted = 0;
+        for (String table : TOKEN_TABLES) {
+            String batchedTable = table;
+            if (isPartitioned()) {
+                partitionsDropped += dropExpiredPartitions(table);
+                batchedTable = table + "_default";
+            }
+            BatchedDelete delete = deleteInBatches(batchedTable, now, deadline);
+            rowsDeleted += delete.rows();
+            if (!delete.completed()) {
+                return new CleanupResult(partitionsDropped, rowsDeleted, true);
+            }
+        }
+        return new CleanupResult(partitionsDropped, rowsDeleted, false);
+    }
+
+    private int dropExpiredPartitions(String table) {
+        LocalDate oldestKept = LocalDate.now().minusDays(tokenProperties.getPartitions().getRetentionDays());
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = ?
+                """, String.class, table);
+
+        int dropped = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches() || !partition.startsWith(table + "_p")) {
+                continue;
+            }
+            LocalDate day = LocalDate.parse(matcher.group(1), PARTITION_SUFFIX);
+            if (day.isBefore(oldestKept)) {
+                // Names come from the catalog and match PARTITION_NAME, so they are safe to inline
+                jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped expired token partition {}", partition);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private record BatchedDelete(long rows, boolean completed) {
+    }
+
+    /**
+     * Deletes expired rows {@code token.cleanup.batch-size} at a time, each batch in its own
+     * short transaction, pausing between batches to leave room for foreground traffic.
+     */
+    private BatchedDelete deleteInBatches(String table, Instant now, Instant deadline) {
+        TokenProperties.Cleanup cleanup = tokenProperties.getCleanup();
+        String sql = "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table
+                + " WHERE expires_at < ? LIMIT ?)";
+        long total = 0;
+        while (true) {
+            int deleted = jdbcTemplate.update(sql, Timestamp.from(now), cleanup.getBatchSize());
+            total += deleted;
+            if (deleted < cleanup.getBatchSize()) {
+                return new BatchedDelete(total, true);
+            }
+            if (Instant.now().isAfter(deadline) || !pause(cleanup.getBatchPause())) {
+                return new BatchedDelete(total, false);
+            }
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean isPartitioned() {
+        return databaseDialect.isPostgres();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.entity.Role;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Role encoding for the compact access-token profile ({@code jwt.compact-claims}). The
+ * built-in roles are bits of {@value #ROLES}; any other role is listed by name in
+ * {@value #EXTRA_ROLES}. The gateway's {@code JwtUtil} decodes the same format, so bit
+ * positions may only ever be appended to.
+ */
+public final class CompactClaims {
+
+    public static final String ROLES = "r";
+    public static final String EXTRA_ROLES = "x";
+
+    static final List<String> ROLE_BITS = List.of(Role.SUPER_ADMIN, Role.ADMIN, Role.USER);
+
+    private CompactClaims() {
+    }
+
+    public static int roleMask(Collection<String> roles) {
+        int mask = 0;
+        for (String role : roles) {
+            int bit = ROLE_BITS.indexOf(role);
+            if (bit >= 0) {
+                mask |= 1 << bit;
+            }
+        }
+        return mask;
+    }
+
+    public static List<String> extraRoles(Collection<String> roles) {
+        return roles.stream().filter(role -> !ROLE_BITS.contains(role)).sorted().toList();
+    }
+
+    public static Set<String> decode(int mask, Collection<String> extraRoles) {
+        Set<String> roles = new HashSet<>();
+        for (int bit = 0; bit < ROLE_BITS.size(); bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                roles.add(ROLE_BITS.get(bit));
+            }
+        }
+        if (extraRoles != null) {
+            roles.addAll(extraRoles);
+        }
+        return roles;
+    }
+}
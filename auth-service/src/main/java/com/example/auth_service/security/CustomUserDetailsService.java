@@ -16,6 +16,7 @@ import java.util.UUID;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -25,8 +26,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link PrincipalCache}; deliberately not transactional so a cache hit
+     * does not borrow a connection.
+     */
     public UserDetails loadUserById(UUID id) {
+        return principalCache.get(id, this::loadPrincipal);
+    }
+
+    private UserPrincipal loadPrincipal(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
         return UserPrincipal.create(user);
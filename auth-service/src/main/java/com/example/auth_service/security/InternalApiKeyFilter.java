@@ -0,0 +1,66 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.SecurityProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates other services on the endpoints they call by a shared key, granting
+ * {@code ROLE_INTERNAL_SERVICE}. Other paths ignore the header.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InternalApiKeyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Internal-Api-Key";
+    public static final String ROLE = "ROLE_INTERNAL_SERVICE";
+
+    private static final List<String> PATHS = List.of("/introspect/", "/users/summaries");
+
+    private final SecurityProperties securityProperties;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return PATHS.stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(HEADER);
+        if (StringUtils.hasText(presented)) {
+            if (matches(presented)) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "internal-service", null, List.of(new SimpleGrantedAuthority(ROLE))));
+            } else {
+                log.warn("Rejected internal API key from {}", request.getRemoteAddr());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(String presented) {
+        String expected = securityProperties.getInternal().getApiKey();
+        return StringUtils.hasText(expected) && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -16,7 +16,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -34,9 +34,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt) && !jwtService.isRefreshToken(jwt)) {
-                UUID userId = jwtService.extractUserId(jwt);
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+            Optional<ParsedToken> token = StringUtils.hasText(jwt) ? jwtService.parse(jwt) : Optional.empty();
+
+            if (token.isPresent() && token.get().isAccess()) {
+                UserDetails userDetails = userDetailsService.loadUserById(token.get().subject());
 
                 if (userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
                     UsernamePasswordAuthenticationToken authentication =
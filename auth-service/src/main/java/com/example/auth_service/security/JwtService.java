@@ -4,10 +4,11 @@ import com.example.auth_service.config.JwtProperties;
 import com.example.auth_service.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -18,20 +19,30 @@ import java.util.*;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
-    private final JwtProperties jwtProperties;
+    private static final String REFRESH_TYPE = "refresh";
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public JwtService(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateAccessToken(User user) {
         Instant now = Instant.now();
         Instant expiry = now.plusMillis(jwtProperties.getAccessTokenExpiry());
 
+        if (jwtProperties.getCompactClaims()) {
+            return generateCompactAccessToken(user, now, expiry);
+        }
+
         // Convert roles to list of role names
         List<String> roles = user.getRoleNames().stream().toList();
 
@@ -42,43 +53,85 @@ public class JwtService {
                 .issuer(jwtProperties.getIssuer())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Subject, roles as a {@link CompactClaims} bitmask, issued-at and expiry; no email or issuer.
+     */
+    private String generateCompactAccessToken(User user, Instant now, Instant expiry) {
+        Set<String> roleNames = user.getRoleNames();
+        List<String> extraRoles = CompactClaims.extraRoles(roleNames);
+
+        JwtBuilder builder = Jwts.builder()
+                .subject(user.getId().toString())
+                .claim(CompactClaims.ROLES, CompactClaims.roleMask(roleNames));
+        if (!extraRoles.isEmpty()) {
+            builder.claim(CompactClaims.EXTRA_ROLES, extraRoles);
+        }
+        return builder
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(expiry))
+                .signWith(signingKey)
                 .compact();
     }
 
     public String generateRefreshToken(User user) {
+        return generateRefreshToken(user, getRefreshTokenExpiryInstant());
+    }
+
+    /**
+     * Refresh token expiring at {@code expiry}; JWT expiry has second precision.
+     */
+    public String generateRefreshToken(User user, Instant expiry) {
         Instant now = Instant.now();
-        Instant expiry = now.plusMillis(jwtProperties.getRefreshTokenExpiry());
 
         return Jwts.builder()
                 .subject(user.getId().toString())
-                .claim("type", "refresh")
+                .claim("type", REFRESH_TYPE)
                 .id(UUID.randomUUID().toString())
                 .issuer(jwtProperties.getIssuer())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its typed view, or empty if it is
+     * expired, tampered with or malformed.
+     */
+    public Optional<ParsedToken> parse(String token) {
         try {
-            parseToken(token);
-            return true;
+            Claims claims = parseToken(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                log.debug("JWT token is missing subject or expiry");
+                return Optional.empty();
+            }
+            ParsedToken.Type type = REFRESH_TYPE.equals(claims.get("type", String.class))
+                    ? ParsedToken.Type.REFRESH
+                    : ParsedToken.Type.ACCESS;
+            return Optional.of(new ParsedToken(
+                    type,
+                    UUID.fromString(claims.getSubject()),
+                    roles(claims),
+                    claims.getExpiration().toInstant()
+            ));
         } catch (ExpiredJwtException e) {
             log.debug("JWT token is expired: {}", e.getMessage());
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid JWT token: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public Claims parseToken(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    public boolean validateToken(String token) {
+        return parse(token).isPresent();
     }
 
     public UUID extractUserId(String token) {
@@ -86,25 +139,33 @@ public class JwtService {
         return UUID.fromString(claims.getSubject());
     }
 
+    /**
+     * {@code null} for compact tokens, which do not carry the email.
+     */
     public String extractEmail(String token) {
         Claims claims = parseToken(token);
         return claims.get("email", String.class);
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> extractRoles(String token) {
-        Claims claims = parseToken(token);
+        return roles(parseToken(token));
+    }
+
+    /**
+     * Roles from either claim profile, so tokens issued before a switch stay valid.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> roles(Claims claims) {
+        Integer mask = claims.get(CompactClaims.ROLES, Integer.class);
+        if (mask != null) {
+            return CompactClaims.decode(mask, claims.get(CompactClaims.EXTRA_ROLES, List.class));
+        }
         List<String> roles = claims.get("roles", List.class);
-        return roles != null ? new HashSet<>(roles) : Set.of();
+        return roles != null ? Set.copyOf(roles) : Set.of();
     }
 
     public boolean isRefreshToken(String token) {
-        try {
-            Claims claims = parseToken(token);
-            return "refresh".equals(claims.get("type", String.class));
-        } catch (JwtException e) {
-            return false;
-        }
+        return parse(token).map(ParsedToken::isRefresh).orElse(false);
     }
 
     public Long getAccessTokenExpiry() {
@@ -0,0 +1,146 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Counts failed logins per user in memory so a burst against one account does not queue
+ * up on that user's row lock. Failures are added to the stored count every
+ * {@code security.login.flush-interval} as a delta, never as an absolute value, so a reset
+ * by a successful login on another replica is not overwritten. A lockout is decided
+ * against the stored count and written through before the failing request returns, so a
+ * crash can lose at most one interval of sub-threshold counts but never a lockout.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAttemptTracker {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SecurityProperties securityProperties;
+    private final PrincipalCache principalCache;
+
+    private final Map<UUID, Attempts> attempts = new ConcurrentHashMap<>();
+
+    private static final class Attempts {
+        private final AtomicInteger failures;  // estimate of the stored count, for the lockout check
+        private final AtomicInteger unflushed = new AtomicInteger();
+        private final AtomicReference<Instant> lockedUntil;
+        private volatile Instant lastFailure = Instant.now();
+
+        private Attempts(User user) {
+            this.failures = new AtomicInteger(user.getFailedLoginAttempts());
+            this.lockedUntil = new AtomicReference<>(user.getLockedUntil());
+        }
+    }
+
+    public boolean isLocked(UUID userId) {
+        Attempts entry = attempts.get(userId);
+        if (entry == null) {
+            return false;
+        }
+        Instant lockedUntil = entry.lockedUntil.get();
+        return lockedUntil != null && lockedUntil.isAfter(Instant.now());
+    }
+
+    /**
+     * Counts a failed attempt. When the local estimate reaches {@code max-attempts} while no
+     * lockout is active, pending failures are written and the stored count decides: at or
+     * over the threshold the lockout is persisted; below it (the count was reset elsewhere)
+     * the estimate is corrected and the account stays open.
+     */
+    public void recordFailure(User user) {
+        Attempts entry = attempts.computeIfAbsent(user.getId(), id -> new Attempts(user));
+        entry.unflushed.incrementAndGet();
+        int failures = entry.failures.incrementAndGet();
+        entry.lastFailure = Instant.now();
+
+        SecurityProperties.Login login = securityProperties.getLogin();
+        Instant current = entry.lockedUntil.get();
+        boolean lockActive = current != null && current.isAfter(Instant.now());
+        if (failures < login.getMaxAttempts() || lockActive) {
+            return;
+        }
+        Instant lockedUntil = Instant.now().plusMillis(login.getLockoutDuration());
+        if (!entry.lockedUntil.compareAndSet(current, lockedUntil)) {
+            return;
+        }
+        int delta = entry.unflushed.getAndSet(0);
+        int stored;
+        try {
+            stored = transactionTemplate.execute(status -> {
+                userRepository.addFailedLoginAttempts(user.getId(), delta);
+                int count = userRepository.findFailedLoginAttempts(user.getId()).orElse(0);
+                if (count >= login.getMaxAttempts()) {
+                    userRepository.lockAccount(user.getId(), lockedUntil);
+                }
+                return count;
+            });
+        } catch (DataAccessException e) {
+            entry.unflushed.addAndGet(delta);
+            entry.lockedUntil.compareAndSet(lockedUntil, current);
+            throw e;
+        }
+        if (stored >= login.getMaxAttempts()) {
+            principalCache.evict(user.getId());
+            log.warn("Account locked due to failed login attempts: {}", user.getId());
+            return;
+        }
+        entry.failures.set(stored + entry.unflushed.get());
+        entry.lockedUntil.compareAndSet(lockedUntil, current);
+    }
+
+    /**
+     * Forgets the in-memory state, including unflushed failures; the caller resets the
+     * persisted counters.
+     */
+    public void recordSuccess(UUID userId) {
+        attempts.remove(userId);
+    }
+
+    /**
+     * Adds pending failures to the stored counts and drops entries that have been quiet
+     * for a lockout period.
+     */
+    @Scheduled(fixedDelayString = "${security.login.flush-interval:5000}")
+    @PreDestroy
+    public void flush() {
+        Instant idleBefore = Instant.now().minusMillis(securityProperties.getLogin().getLockoutDuration());
+        int written = 0;
+        for (Map.Entry<UUID, Attempts> e : attempts.entrySet()) {
+            Attempts entry = e.getValue();
+            int delta = entry.unflushed.getAndSet(0);
+            if (delta > 0) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            userRepository.addFailedLoginAttempts(e.getKey(), delta));
+                    written++;
+                } catch (DataAccessException ex) {
+                    entry.unflushed.addAndGet(delta);
+                    log.warn("Failed to flush login attempts for {}: {}", e.getKey(), ex.getMessage());
+                }
+            } else if (entry.lastFailure.isBefore(idleBefore)) {
+                attempts.remove(e.getKey(), entry);
+            }
+        }
+        if (written > 0) {
+            log.debug("Flushed failed login counts for {} users", written);
+        }
+    }
+}
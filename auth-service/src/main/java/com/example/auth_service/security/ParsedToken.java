@@ -0,0 +1,29 @@
+package com.example.auth_service.security;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Verified view of a JWT, produced by a single {@link JwtService#parse(String)} call.
+ */
+public record ParsedToken(
+        Type type,
+        UUID subject,
+        Set<String> roles,
+        Instant expiresAt
+) {
+
+    public enum Type {
+        ACCESS,
+        REFRESH
+    }
+
+    public boolean isAccess() {
+        return type == Type.ACCESS;
+    }
+
+    public boolean isRefresh() {
+        return type == Type.REFRESH;
+    }
+}
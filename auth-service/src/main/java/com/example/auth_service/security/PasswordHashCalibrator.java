@@ -0,0 +1,108 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.SecurityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the application's {@link PasswordEncoder}, picking the work factor that brings a
+ * single hash closest to {@code security.password.target-hash-latency} on this machine
+ * without going below the configured floor.
+ * <p>
+ * Hashes are stored with an algorithm prefix ({@code {bcrypt}} / {@code {argon2}}); legacy
+ * unprefixed values are read as bcrypt, and {@link PasswordEncoder#upgradeEncoding(String)}
+ * reports any hash that was produced with a different algorithm or weaker parameters.
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MAX_ARGON2_ITERATIONS = 10;
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final String SAMPLE_PASSWORD = "calibration-Pa55word!";
+
+    private PasswordHashCalibrator() {
+    }
+
+    public static Calibration calibrate(SecurityProperties.Password properties) {
+        long targetMs = properties.getTargetHashLatency();
+        String algorithm = ARGON2.equals(normalize(properties.getAlgorithm())) ? ARGON2 : BCRYPT;
+
+        int bcryptStrength = properties.getBcryptStrength();
+        int argon2Iterations = properties.getArgon2Iterations();
+        if (targetMs > 0 && BCRYPT.equals(algorithm)) {
+            bcryptStrength = pickCost(bcryptStrength, MAX_BCRYPT_STRENGTH, targetMs,
+                    strength -> new BCryptPasswordEncoder(strength));
+        } else if (targetMs > 0) {
+            argon2Iterations = pickCost(argon2Iterations, MAX_ARGON2_ITERATIONS, targetMs,
+                    iterations -> argon2(properties, iterations));
+        }
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, argon2(properties, argon2Iterations)
+        ));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int cost = BCRYPT.equals(algorithm) ? bcryptStrength : argon2Iterations;
+        log.info("Password hashing: {} with cost {} (target {} ms)", algorithm, cost, targetMs);
+        return new Calibration(encoder, algorithm, cost);
+    }
+
+    /**
+     * Returns the algorithm id a stored hash was produced with.
+     */
+    public static String algorithmOf(String encodedPassword) {
+        return encodedPassword != null && encodedPassword.startsWith("{" + ARGON2 + "}") ? ARGON2 : BCRYPT;
+    }
+
+    /**
+     * Highest cost in [floor, max] whose measured hash time stays within the target. Each
+     * step is measured rather than extrapolated, stopping as soon as the target is exceeded.
+     */
+    static int pickCost(int floor, int max, long targetMs, IntFunction<PasswordEncoder> encoderForCost) {
+        int chosen = floor;
+        for (int cost = floor; cost <= max; cost++) {
+            long elapsedMs = measure(encoderForCost.apply(cost));
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = cost;
+        }
+        return chosen;
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);  // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+
+    private static Argon2PasswordEncoder argon2(SecurityProperties.Password properties, int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+                properties.getArgon2Parallelism(), properties.getArgon2MemoryKib(), iterations);
+    }
+
+    private static String normalize(String algorithm) {
+        return algorithm != null && algorithm.toLowerCase().startsWith(ARGON2) ? ARGON2 : BCRYPT;
+    }
+
+    public record Calibration(PasswordEncoder encoder, String algorithm, int cost) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a CPU-sized pool with a bounded queue, so a
+ * burst of logins cannot occupy every servlet thread. Work that does not fit is rejected
+ * immediately with {@link HashingCapacityExceededException} (503).
+ * <p>
+ * Futures complete on a separate continuation pool, sized for blocking database work,
+ * so follow-up work that callers chain on them (transactions, token inserts) never holds a
+ * hashing thread while it waits on the connection pool. Callers return the future to
+ * Spring MVC so the request thread is released while hashing.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService continuations;
+    private final Counter rejected;
+    private final Map<String, Timer> queueWaitTimers;
+    private final Map<String, Timer> durationTimers;
+
+    private final String encodingAlgorithm;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          PasswordHashCalibrator.Calibration calibration,
+                          SecurityProperties securityProperties,
+                          MeterRegistry meterRegistry) {
+        SecurityProperties.Hashing hashing = securityProperties.getHashing();
+        int threads = hashing.getThreads() > 0 ? hashing.getThreads() : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.encodingAlgorithm = calibration.algorithm();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashing.getQueueCapacity()),
+                namedThreads("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Unbounded queue: admission is already bounded by the hashing pool above
+        this.continuations = Executors.newFixedThreadPool(hashing.getContinuationThreads(),
+                namedThreads("password-hash-callback-"));
+
+        this.queueWaitTimers = timers("password.hash.queue.wait", meterRegistry);
+        this.durationTimers = timers("password.hash.duration", meterRegistry);
+
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("Hashing requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.cost", calibration, PasswordHashCalibrator.Calibration::cost)
+                .description("Work factor chosen at startup for new hashes")
+                .tag("algorithm", calibration.algorithm())
+                .register(meterRegistry);
+        log.info("Password hashing pool: {} threads, queue capacity {}, {} callback threads",
+                threads, hashing.getQueueCapacity(), hashing.getContinuationThreads());
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit("encode", encodingAlgorithm, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return submit("matches", PasswordHashCalibrator.algorithmOf(encodedPassword),
+                () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether a stored hash uses another algorithm or weaker parameters than new hashes.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, String algorithm, Supplier<T> work) {
+        long enqueuedAt = System.nanoTime();
+        Timer queueWait = queueWaitTimers.get(timerKey(operation, algorithm));
+        Timer duration = durationTimers.get(timerKey(operation, algorithm));
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return duration.record(work);
+            }, executor).thenApplyAsync(Function.identity(), continuations);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new HashingCapacityExceededException());
+        }
+    }
+
+    /**
+     * One timer per operation and algorithm, registered up front instead of on every call.
+     */
+    private static Map<String, Timer> timers(String name, MeterRegistry meterRegistry) {
+        Map<String, Timer> timers = new HashMap<>();
+        for (String operation : List.of("encode", "matches")) {
+            for (String algorithm : List.of(PasswordHashCalibrator.BCRYPT, PasswordHashCalibrator.ARGON2)) {
+                timers.put(timerKey(operation, algorithm), Timer.builder(name)
+                        .tag("operation", operation)
+                        .tag("algorithm", algorithm)
+                        .register(meterRegistry));
+            }
+        }
+        return Map.copyOf(timers);
+    }
+
+    private static String timerKey(String operation, String algorithm) {
+        return operation + ':' + algorithm;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        continuations.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.SecurityProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded, short-lived cache of {@link UserPrincipal}s keyed by user id, so authenticated
+ * requests do not reload the user and its roles on every call. Anything that changes a
+ * user's roles, lock state, active flag or password must call {@link #evict(UUID)}.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final Cache<UUID, UserPrincipal> cache;
+
+    public PrincipalCache(SecurityProperties securityProperties, MeterRegistry meterRegistry) {
+        SecurityProperties.PrincipalCache properties = securityProperties.getPrincipalCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public UserPrincipal get(UUID userId, Function<UUID, UserPrincipal> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public UserPrincipal getIfPresent(UUID userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    /**
+     * Drops the entry now and, when called inside a transaction, again after it commits so
+     * a concurrent request cannot re-cache the pre-commit state.
+     */
+    public void evict(UUID userId) {
+        cache.invalidate(userId);
+        afterCommit(() -> cache.invalidate(userId));
+    }
+
+    /**
+     * Drops the entries once the surrounding transaction commits (immediately outside one),
+     * with a single synchronization for the whole batch.
+     */
+    public void evictAfterCommit(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(userIds);
+            return;
+        }
+        afterCommit(() -> cache.invalidateAll(userIds));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
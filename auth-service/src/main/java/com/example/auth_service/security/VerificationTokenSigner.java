@@ -0,0 +1,122 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.JwtProperties;
+import com.example.auth_service.config.TokenProperties;
+import com.example.auth_service.entity.TokenType;
+import com.example.auth_service.exception.InvalidTokenException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Self-contained email verification and password reset tokens for
+ * {@code token.verification-mode: signed}: user id, type, expiry and the user's
+ * {@code token_nonce}, HMAC-SHA256 signed. Nothing is stored; a token is single-use
+ * because using it bumps the nonce.
+ */
+@Component
+public class VerificationTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_LENGTH = 16 + 1 + 8 + 4;  // user id, type, expiry seconds, nonce
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final TokenProperties tokenProperties;
+    private final SecretKeySpec key;
+
+    public record SignedToken(UUID userId, TokenType type, Instant expiresAt, int nonce) {
+    }
+
+    /**
+     * Fails startup in signed mode unless {@code token.signing-secret} is set and differs
+     * from {@code jwt.secret}: a key shared with access tokens would let either kind of
+     * token be forged from the other's leak. Without a secret, stored mode rejects signed links.
+     */
+    public VerificationTokenSigner(TokenProperties tokenProperties, JwtProperties jwtProperties) {
+        this.tokenProperties = tokenProperties;
+        String secret = tokenProperties.getSigningSecret();
+        if (StringUtils.hasText(secret) && secret.equals(jwtProperties.getSecret())) {
+            throw new IllegalStateException("token.signing-secret must not be the same as jwt.secret");
+        }
+        this.key = StringUtils.hasText(secret)
+                ? new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM)
+                : null;
+        if (key == null && isEnabled()) {
+            throw new IllegalStateException("token.signing-secret is required when token.verification-mode is signed");
+        }
+    }
+
+    public boolean isEnabled() {
+        return "signed".equalsIgnoreCase(tokenProperties.getVerificationMode());
+    }
+
+    /**
+     * Signed tokens contain a '.', stored ones are plain UUIDs.
+     */
+    public static boolean isSigned(String token) {
+        return token != null && token.indexOf('.') > 0;
+    }
+
+    public String sign(UUID userId, TokenType type, Instant expiresAt, int nonce) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .putLong(userId.getMostSignificantBits())
+                .putLong(userId.getLeastSignificantBits())
+                .put((byte) type.ordinal())
+                .putLong(expiresAt.getEpochSecond())
+                .putInt(nonce)
+                .array();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac(payload));
+    }
+
+    /**
+     * Checks signature, type and expiry. The nonce is left to the caller, who compares
+     * it with the user's current one.
+     */
+    public SignedToken verify(String token, TokenType expectedType) {
+        int dot = token.indexOf('.');
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw InvalidTokenException.invalid();
+        }
+        if (payload.length != PAYLOAD_LENGTH || key == null || !MessageDigest.isEqual(mac(payload), signature)) {
+            throw InvalidTokenException.invalid();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        UUID userId = new UUID(buffer.getLong(), buffer.getLong());
+        int type = buffer.get();
+        Instant expiresAt = Instant.ofEpochSecond(buffer.getLong());
+        int nonce = buffer.getInt();
+        if (type != expectedType.ordinal()) {
+            throw InvalidTokenException.invalid();
+        }
+        if (!expiresAt.isAfter(Instant.now())) {
+            throw InvalidTokenException.expired();
+        }
+        return new SignedToken(userId, expectedType, expiresAt, nonce);
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
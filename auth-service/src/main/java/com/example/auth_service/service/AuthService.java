@@ -1,31 +1,36 @@
 package com.example.auth_service.service;
 
-import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.config.DatabaseDialect;
 import com.example.auth_service.config.TokenProperties;
 import com.example.auth_service.dto.request.*;
 import com.example.auth_service.dto.response.*;
 import com.example.auth_service.entity.*;
 import com.example.auth_service.exception.*;
+import com.example.auth_service.ratelimit.AuthRateLimiter;
 import com.example.auth_service.repository.RefreshTokenRepository;
-import com.example.auth_service.repository.RoleRepository;
 import com.example.auth_service.repository.UserRepository;
 import com.example.auth_service.repository.VerificationTokenRepository;
 import com.example.auth_service.security.JwtService;
+import com.example.auth_service.security.LoginAttemptTracker;
+import com.example.auth_service.security.ParsedToken;
+import com.example.auth_service.security.PasswordHasher;
+import com.example.auth_service.security.PrincipalCache;
+import com.example.auth_service.security.TokenDigest;
 import com.example.auth_service.security.UserPrincipal;
+import com.example.auth_service.security.VerificationTokenSigner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.LockedException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -33,31 +38,47 @@ import java.util.UUID;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final RefreshTokenRepository refreshTokenRepository;
     private final VerificationTokenRepository verificationTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
     private final TokenProperties tokenProperties;
-    private final SecurityProperties securityProperties;
+    private final PrincipalCache principalCache;
+    private final AuthRateLimiter authRateLimiter;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final VerificationTokenSigner verificationTokenSigner;
+    private final DatabaseDialect databaseDialect;
+
+    /**
+     * Hashes the password on the {@link PasswordHasher} pool, then creates the user in
+     * its own transaction.
+     */
+    public CompletableFuture<RegisterResponse> register(RegisterRequest request) {
+        // Check if email already exists before spending a hash on it
+        if (userRepository.existsByEmail(request.getEmail().toLowerCase().trim())) {
+            throw new EmailAlreadyExistsException(request.getEmail());
+        }
 
-    @Transactional
-    public RegisterResponse register(RegisterRequest request) {
-        // Check if email already exists
+        return passwordHasher.encode(request.getPassword())
+                .thenApply(passwordHash -> transactionTemplate.execute(status -> createUser(request, passwordHash)));
+    }
+
+    private RegisterResponse createUser(RegisterRequest request, String passwordHash) {
         if (userRepository.existsByEmail(request.getEmail().toLowerCase().trim())) {
             throw new EmailAlreadyExistsException(request.getEmail());
         }
 
         // Get the default USER role
-        Role userRole = roleRepository.findByName(Role.USER)
+        Role userRole = roleRegistry.findByName(Role.USER)
                 .orElseThrow(() -> new RuntimeException("Default USER role not found"));
 
         // Create user
         User user = User.builder()
                 .email(request.getEmail().toLowerCase().trim())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .firstName(request.getFirstName().trim())
                 .lastName(request.getLastName().trim())
                 .emailVerified(false)
@@ -71,8 +92,8 @@ public class AuthService {
         log.info("User registered successfully: {}", maskEmail(user.getEmail()));
 
         // Generate email verification token
-        String verificationToken = generateVerificationToken(user, TokenType.EMAIL_VERIFICATION,
-                tokenProperties.getEmailVerificationExpiry());
+        String verificationToken = issueToken(user, TokenType.EMAIL_VERIFICATION,
+                tokenProperties.getEmailVerificationExpiry(), false);
 
         // Send verification email asynchronously
        // emailService.sendVerificationEmail(user, verificationToken);
@@ -88,53 +109,93 @@ public class AuthService {
                 .build();
     }
 
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
+    /**
+     * Verifies the password on the {@link PasswordHasher} pool and completes the login in
+     * a separate transaction once the hash check returns.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
         String email = request.getEmail().toLowerCase().trim();
 
         // Check if user exists and is not locked
         User user = userRepository.findByEmail(email)
                 .orElseThrow(InvalidCredentialsException::new);
 
-        if (user.isAccountLocked()) {
+        if (user.isAccountLocked() || loginAttemptTracker.isLocked(user.getId())) {
             log.warn("Login attempt for locked account: {}", maskEmail(email));
             throw new AccountLockedException();
         }
 
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(email, request.getPassword())
-            );
-
-            // Reset failed login attempts on successful login
-            if (user.getFailedLoginAttempts() > 0) {
-                userRepository.resetLoginAttempts(user.getId());
-            }
-
-            // Update last login
-            userRepository.updateLastLoginAt(user.getId(), Instant.now());
+        if (!user.getIsActive()) {
+            throw new AuthException("Account is disabled", HttpStatus.UNAUTHORIZED);
+        }
 
-            // Generate tokens
-            String accessToken = jwtService.generateAccessToken(user);
-            String refreshToken = jwtService.generateRefreshToken(user);
+        return passwordHasher.matches(request.getPassword(), user.getPasswordHash())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        loginAttemptTracker.recordFailure(user);
+                        throw new InvalidCredentialsException();
+                    }
+                    AuthResponse response = transactionTemplate.execute(status -> completeLogin(user));
+                    rehashIfOutdated(user, request.getPassword());
+                    return response;
+                });
+    }
 
-            // Store refresh token
-            saveRefreshToken(user, refreshToken);
+    /**
+     * Re-encodes a hash produced with an older algorithm or cost, in the background. The
+     * update only applies if the stored hash is still the one that was verified.
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        String oldHash = user.getPasswordHash();
+        if (!passwordHasher.needsRehash(oldHash)) {
+            return;
+        }
+        passwordHasher.encode(rawPassword)
+                .thenAccept(newHash -> transactionTemplate.executeWithoutResult(status -> {
+                    if (userRepository.replacePasswordHash(user.getId(), oldHash, newHash) > 0) {
+                        principalCache.evict(user.getId());
+                        log.debug("Password hash upgraded for user: {}", maskEmail(user.getEmail()));
+                    }
+                }))
+                .exceptionally(e -> {
+                    log.debug("Password rehash skipped for user {}: {}", maskEmail(user.getEmail()), e.getMessage());
+                    return null;
+                });
+    }
 
-            log.info("User logged in successfully: {}", maskEmail(email));
+    /**
+     * Last-login, attempt reset and the refresh-token insert in one round trip on PostgreSQL
+     * (a data-modifying CTE). H2 has no such CTEs, so it takes one UPDATE and one INSERT.
+     */
+    private AuthResponse completeLogin(User user) {
+        Instant now = Instant.now();
+        Instant refreshExpiresAt = refreshTokenExpiry();
+        String accessToken = jwtService.generateAccessToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user, refreshExpiresAt);
+
+        if (databaseDialect.isPostgres()) {
+            if (userRepository.recordSuccessfulLoginWithRefreshToken(user.getId(), now,
+                    TokenDigest.sha256(refreshToken), refreshExpiresAt) == 0) {
+                throw new InvalidCredentialsException();
+            }
+        } else {
+            userRepository.recordSuccessfulLogin(user.getId(), now);
+            saveRefreshToken(user, refreshToken, refreshExpiresAt);
+        }
+        loginAttemptTracker.recordSuccess(user.getId());
+        if (user.getFailedLoginAttempts() > 0) {
+            principalCache.evict(user.getId());
+        }
 
-            return AuthResponse.builder()
-                    .accessToken(accessToken)
-                    .refreshToken(refreshToken)
-                    .tokenType("Bearer")
-                    .expiresIn(jwtService.getAccessTokenExpiry() / 1000)
-                    .user(UserResponse.fromUserBasic(user))
-                    .build();
+        log.info("User logged in successfully: {}", maskEmail(user.getEmail()));
 
-        } catch (BadCredentialsException | LockedException e) {
-            handleFailedLogin(user);
-            throw new InvalidCredentialsException();
-        }
+        return AuthResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(jwtService.getAccessTokenExpiry() / 1000)
+                .user(UserResponse.fromUserBasic(user))
+                .build();
     }
 
     @Transactional
@@ -142,12 +203,15 @@ public class AuthService {
         String refreshTokenStr = request.getRefreshToken();
 
         // Validate refresh token
-        if (!jwtService.validateToken(refreshTokenStr) || !jwtService.isRefreshToken(refreshTokenStr)) {
-            throw InvalidTokenException.invalid();
-        }
+        ParsedToken parsedToken = jwtService.parse(refreshTokenStr)
+                .filter(ParsedToken::isRefresh)
+                .orElseThrow(InvalidTokenException::invalid);
 
-        // Check if token exists and is not revoked
-        RefreshToken storedToken = refreshTokenRepository.findByToken(refreshTokenStr)
+        // Check if token exists and is not revoked. The stored expiry equals the JWT expiry,
+        // which pins the lookup to one partition; tokens issued before that fall back to the hash.
+        byte[] tokenHash = TokenDigest.sha256(refreshTokenStr);
+        RefreshToken storedToken = refreshTokenRepository.findByTokenHashAndExpiresAt(tokenHash, parsedToken.expiresAt())
+                .or(() -> refreshTokenRepository.findByTokenHash(tokenHash))
                 .orElseThrow(InvalidTokenException::invalid);
 
         if (!storedToken.isValid()) {
@@ -156,16 +220,18 @@ public class AuthService {
 
         User user = storedToken.getUser();
 
-        // Revoke old refresh token (token rotation)
-        storedToken.setIsRevoked(true);
-        refreshTokenRepository.save(storedToken);
+        // Revoke old refresh token (token rotation), pinned to its partition by the stored expiry
+        if (refreshTokenRepository.revokeForRotation(storedToken.getId(), storedToken.getExpiresAt()) == 0) {
+            throw InvalidTokenException.revoked();
+        }
 
         // Generate new tokens
+        Instant refreshExpiresAt = refreshTokenExpiry();
         String newAccessToken = jwtService.generateAccessToken(user);
-        String newRefreshToken = jwtService.generateRefreshToken(user);
+        String newRefreshToken = jwtService.generateRefreshToken(user, refreshExpiresAt);
 
         // Store new refresh token
-        saveRefreshToken(user, newRefreshToken);
+        saveRefreshToken(user, newRefreshToken, refreshExpiresAt);
 
         log.info("Token refreshed for user: {}", maskEmail(user.getEmail()));
 
@@ -184,7 +250,7 @@ public class AuthService {
         if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
             // Revoke specific refresh token if provided
             if (request.getRefreshToken() != null && !request.getRefreshToken().isEmpty()) {
-                refreshTokenRepository.revokeByToken(request.getRefreshToken());
+                refreshTokenRepository.revokeByTokenHash(TokenDigest.sha256(request.getRefreshToken()));
             } else {
                 // Revoke all refresh tokens for the user
                 refreshTokenRepository.revokeAllByUserId(principal.getId());
@@ -235,12 +301,9 @@ public class AuthService {
 
         // Always return success to prevent email enumeration
         userRepository.findByEmail(email).ifPresent(user -> {
-            // Invalidate existing password reset tokens
-            verificationTokenRepository.invalidateTokensByUserAndType(user.getId(), TokenType.PASSWORD_RESET);
-
-            // Generate new token
-            String token = generateVerificationToken(user, TokenType.PASSWORD_RESET,
-                    tokenProperties.getPasswordResetExpiry());
+            // Generate new token, invalidating existing password reset tokens
+            String token = issueToken(user, TokenType.PASSWORD_RESET,
+                    tokenProperties.getPasswordResetExpiry(), true);
 
             // Send email
             emailService.sendPasswordResetEmail(user, token);
@@ -250,25 +313,26 @@ public class AuthService {
         return MessageResponse.of("If the email exists, a password reset link has been sent");
     }
 
-    @Transactional
-    public MessageResponse resetPassword(ResetPasswordRequest request) {
-        VerificationToken verificationToken = verificationTokenRepository
-                .findByTokenAndTokenType(request.getToken(), TokenType.PASSWORD_RESET)
-                .orElseThrow(InvalidTokenException::invalid);
+    /**
+     * Rejects unusable tokens before hashing, then applies the new hash in a transaction
+     * that re-checks the token.
+     */
+    public CompletableFuture<MessageResponse> resetPassword(ResetPasswordRequest request) {
+        checkToken(request.getToken(), TokenType.PASSWORD_RESET);
 
-        if (!verificationToken.isValid()) {
-            throw verificationToken.getUsed() ? InvalidTokenException.alreadyUsed() : InvalidTokenException.expired();
-        }
+        return passwordHasher.encode(request.getNewPassword())
+                .thenApply(passwordHash -> transactionTemplate.execute(
+                        status -> applyPasswordReset(request.getToken(), passwordHash)));
+    }
 
-        User user = verificationToken.getUser();
+    private MessageResponse applyPasswordReset(String token, String passwordHash) {
+        // Mark token as used
+        User user = consumeToken(token, TokenType.PASSWORD_RESET);
 
         // Update password
-        user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordHash(passwordHash);
         userRepository.save(user);
-
-        // Mark token as used
-        verificationToken.setUsed(true);
-        verificationTokenRepository.save(verificationToken);
+        principalCache.evict(user.getId());
 
         // Revoke all refresh tokens
         refreshTokenRepository.revokeAllByUserId(user.getId());
@@ -283,24 +347,13 @@ public class AuthService {
 
     @Transactional
     public MessageResponse verifyEmail(VerifyEmailRequest request) {
-        VerificationToken verificationToken = verificationTokenRepository
-                .findByTokenAndTokenType(request.getToken(), TokenType.EMAIL_VERIFICATION)
-                .orElseThrow(InvalidTokenException::invalid);
-
-        if (!verificationToken.isValid()) {
-            throw verificationToken.getUsed() ? InvalidTokenException.alreadyUsed() : InvalidTokenException.expired();
-        }
-
-        User user = verificationToken.getUser();
+        // Mark token as used
+        User user = consumeToken(request.getToken(), TokenType.EMAIL_VERIFICATION);
 
         // Verify email
         user.setEmailVerified(true);
         userRepository.save(user);
 
-        // Mark token as used
-        verificationToken.setUsed(true);
-        verificationTokenRepository.save(verificationToken);
-
         log.info("Email verified for user: {}", maskEmail(user.getEmail()));
 
         return MessageResponse.of("Email verified successfully");
@@ -316,21 +369,11 @@ public class AuthService {
             throw new EmailAlreadyVerifiedException();
         }
 
-        // Check rate limit (max 3 per hour)
-        Instant oneHourAgo = Instant.now().minusSeconds(3600);
-        long recentTokens = verificationTokenRepository.countRecentTokensByUserAndType(
-                user.getId(), TokenType.EMAIL_VERIFICATION, oneHourAgo);
-
-        if (recentTokens >= 3) {
-            throw new RateLimitExceededException("Maximum verification emails sent. Please try again later.");
-        }
-
-        // Invalidate existing tokens
-        verificationTokenRepository.invalidateTokensByUserAndType(user.getId(), TokenType.EMAIL_VERIFICATION);
+        authRateLimiter.checkVerificationEmail(user.getId());
 
-        // Generate new token
-        String token = generateVerificationToken(user, TokenType.EMAIL_VERIFICATION,
-                tokenProperties.getEmailVerificationExpiry());
+        // Generate new token, invalidating existing ones
+        String token = issueToken(user, TokenType.EMAIL_VERIFICATION,
+                tokenProperties.getEmailVerificationExpiry(), true);
 
         // Send email
         emailService.sendVerificationEmail(user, token);
@@ -340,29 +383,89 @@ public class AuthService {
         return MessageResponse.of("Verification email sent");
     }
 
-    private void handleFailedLogin(User user) {
-        int attempts = user.getFailedLoginAttempts() + 1;
-        Instant lockedUntil = null;
-
-        if (attempts >= securityProperties.getLogin().getMaxAttempts()) {
-            lockedUntil = Instant.now().plusMillis(securityProperties.getLogin().getLockoutDuration());
-            log.warn("Account locked due to failed login attempts: {}", maskEmail(user.getEmail()));
-        }
-
-        userRepository.updateLoginAttempts(user.getId(), attempts, lockedUntil);
+    private Instant refreshTokenExpiry() {
+        return jwtService.getRefreshTokenExpiryInstant().truncatedTo(ChronoUnit.SECONDS);
     }
 
-    private void saveRefreshToken(User user, String token) {
+    private void saveRefreshToken(User user, String token, Instant expiresAt) {
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
-                .token(token)
-                .expiresAt(jwtService.getRefreshTokenExpiryInstant())
+                .tokenHash(TokenDigest.sha256(token))
+                .expiresAt(expiresAt)
                 .isRevoked(false)
                 .build();
 
         refreshTokenRepository.save(refreshToken);
     }
 
+    /**
+     * Stored or signed per {@code token.verification-mode}. With {@code supersede}, earlier
+     * tokens of the type stop working; in signed mode that bumps the user's nonce, which
+     * retires their outstanding tokens of the other type as well.
+     */
+    private String issueToken(User user, TokenType tokenType, Long expiryMs, boolean supersede) {
+        if (!verificationTokenSigner.isEnabled()) {
+            if (supersede) {
+                verificationTokenRepository.invalidateTokensByUserAndType(user.getId(), tokenType);
+            }
+            return generateVerificationToken(user, tokenType, expiryMs);
+        }
+
+        int nonce = user.getTokenNonce();
+        if (supersede) {
+            userRepository.bumpTokenNonce(user.getId());
+            nonce = userRepository.findTokenNonce(user.getId()).orElseThrow(UserNotFoundException::new);
+        }
+        return verificationTokenSigner.sign(user.getId(), tokenType, Instant.now().plusMillis(expiryMs), nonce);
+    }
+
+    /**
+     * Rejects a token that cannot be used, without using it.
+     */
+    private void checkToken(String token, TokenType tokenType) {
+        if (VerificationTokenSigner.isSigned(token)) {
+            VerificationTokenSigner.SignedToken signed = verificationTokenSigner.verify(token, tokenType);
+            boolean current = userRepository.findTokenNonce(signed.userId())
+                    .map(nonce -> nonce == signed.nonce())
+                    .orElse(false);
+            if (!current) {
+                throw InvalidTokenException.alreadyUsed();
+            }
+            return;
+        }
+        findValidToken(token, tokenType);
+    }
+
+    /**
+     * Uses the token and returns its user. Either kind is accepted in both modes, so links
+     * already sent keep working when {@code token.verification-mode} changes.
+     */
+    private User consumeToken(String token, TokenType tokenType) {
+        if (VerificationTokenSigner.isSigned(token)) {
+            VerificationTokenSigner.SignedToken signed = verificationTokenSigner.verify(token, tokenType);
+            if (userRepository.consumeTokenNonce(signed.userId(), signed.nonce()) == 0) {
+                throw InvalidTokenException.alreadyUsed();
+            }
+            return userRepository.findById(signed.userId()).orElseThrow(InvalidTokenException::invalid);
+        }
+
+        VerificationToken verificationToken = findValidToken(token, tokenType);
+        verificationToken.setUsed(true);
+        verificationTokenRepository.save(verificationToken);
+        return verificationToken.getUser();
+    }
+
+    private VerificationToken findValidToken(String token, TokenType tokenType) {
+        VerificationToken verificationToken = verificationTokenRepository
+                .findByTokenAndTokenType(token, tokenType)
+                .orElseThrow(InvalidTokenException::invalid);
+
+        if (!verificationToken.isValid()) {
+            throw verificationToken.getUsed() ? InvalidTokenException.alreadyUsed() : InvalidTokenException.expired();
+        }
+        return verificationToken;
+    }
+
     private String generateVerificationToken(User user, TokenType tokenType, Long expiryMs) {
         String token = UUID.randomUUID().toString();
 
@@ -0,0 +1,114 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.dto.request.IntrospectRequest;
+import com.example.auth_service.dto.response.IntrospectResponse;
+import com.example.auth_service.dto.response.IntrospectionResult;
+import com.example.auth_service.dto.response.IntrospectionResult.Status;
+import com.example.auth_service.exception.AuthException;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.JwtService;
+import com.example.auth_service.security.ParsedToken;
+import com.example.auth_service.security.PrincipalCache;
+import com.example.auth_service.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "is this user still allowed in, with these roles?" for a page of tokens or user
+ * ids at once. Users are taken from {@link PrincipalCache} where present; the rest are
+ * loaded with their roles in one {@code WHERE id IN (...)} query and not cached: a change
+ * committing between that read and a put would have its eviction run first, leaving the stale
+ * principal cached. Only {@link PrincipalCache#get}, atomic with eviction, fills the cache.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IntrospectionService {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final JwtService jwtService;
+    private final PrincipalCache principalCache;
+    private final UserRepository userRepository;
+    private final SecurityProperties securityProperties;
+
+    /**
+     * Not transactional, like {@link com.example.auth_service.security.CustomUserDetailsService#loadUserById},
+     * so a batch served from the cache does not borrow a connection.
+     */
+    public IntrospectResponse introspect(IntrospectRequest request) {
+        List<String> tokens = request.getTokens() != null ? request.getTokens() : List.of();
+        List<UUID> userIds = request.getUserIds() != null ? request.getUserIds() : List.of();
+        int max = securityProperties.getInternal().getMaxIntrospectionBatch();
+        if (tokens.size() + userIds.size() > max) {
+            throw new AuthException("At most " + max + " tokens and user ids per request", HttpStatus.BAD_REQUEST);
+        }
+
+        List<Optional<ParsedToken>> parsed = tokens.stream()
+                .map(token -> token == null ? Optional.<ParsedToken>empty() : jwtService.parse(token))
+                .map(token -> token.filter(ParsedToken::isAccess))
+                .toList();
+        Set<UUID> wanted = new LinkedHashSet<>();
+        parsed.forEach(token -> token.ifPresent(t -> wanted.add(t.subject())));
+        userIds.stream().filter(id -> id != null).forEach(wanted::add);
+        Map<UUID, UserPrincipal> principals = principals(wanted);
+
+        List<IntrospectionResult> tokenResults = new ArrayList<>(parsed.size());
+        for (Optional<ParsedToken> token : parsed) {
+            tokenResults.add(token
+                    .map(t -> result(t.subject(), principals.get(t.subject()), t.roles()))
+                    .orElseGet(() -> IntrospectionResult.of(null, Status.INVALID_TOKEN)));
+        }
+        List<IntrospectionResult> userResults = userIds.stream()
+                .map(id -> result(id, id == null ? null : principals.get(id), null))
+                .toList();
+        return new IntrospectResponse(tokenResults, userResults);
+    }
+
+    private Map<UUID, UserPrincipal> principals(Set<UUID> userIds) {
+        Map<UUID, UserPrincipal> principals = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : userIds) {
+            UserPrincipal cached = principalCache.getIfPresent(id);
+            if (cached != null) {
+                principals.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            userRepository.findAllByIdIn(misses)
+                    .forEach(user -> principals.put(user.getId(), UserPrincipal.create(user)));
+        }
+        log.debug("Introspected {} users, {} loaded from the database", userIds.size(), misses.size());
+        return principals;
+    }
+
+    private static IntrospectionResult result(UUID userId, UserPrincipal principal, Set<String> tokenRoles) {
+        if (principal == null) {
+            return IntrospectionResult.of(userId, Status.NOT_FOUND);
+        }
+        Status status = !principal.isEnabled() ? Status.DISABLED
+                : !principal.isAccountNonLocked() ? Status.LOCKED
+                : Status.ACTIVE;
+        Set<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith(ROLE_PREFIX) ? authority.substring(ROLE_PREFIX.length()) : authority)
+                .collect(Collectors.toSet());
+        return new IntrospectionResult(userId, status, roles, tokenRoles == null ? null : !tokenRoles.equals(roles));
+    }
+}
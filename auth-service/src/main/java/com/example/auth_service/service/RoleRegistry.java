@@ -0,0 +1,153 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the roles table, keyed by name and id, loaded at startup and
+ * replaced as a whole: after a role change commits on this instance, and when the
+ * {@code count(*)}/{@code max(updated_at)} version polled every
+ * {@code security.roles.refresh-interval} shows a change made by another replica.
+ * <p>
+ * Roles are detached copies, so they can be attached to users (only their id is written
+ * to {@code user_roles}) without loading anything. Do not modify them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry {
+
+    private static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), List.of(), null);
+
+    private final RoleRepository roleRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    private record Version(long count, Timestamp lastUpdated) {
+    }
+
+    private record Snapshot(Map<String, Role> byName, Map<UUID, Role> byId, List<Role> all, Version version) {
+    }
+
+    @PostConstruct
+    void load() {
+        reload(readVersion());
+    }
+
+    public Optional<Role> findByName(String name) {
+        Role role = snapshot.byName().get(name);
+        if (role == null) {
+            // May have been created on another replica since the last poll
+            role = refresh().byName().get(name);
+        }
+        return Optional.ofNullable(role);
+    }
+
+    public Optional<Role> findById(UUID id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    /**
+     * The roles among {@code names} that exist; callers compare sizes to detect unknown names.
+     */
+    public Set<Role> findByNames(Collection<String> names) {
+        Map<String, Role> byName = snapshot.byName();
+        if (!byName.keySet().containsAll(names)) {
+            byName = refresh().byName();
+        }
+        Map<String, Role> current = byName;
+        return names.stream()
+                .map(current::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    public List<Role> findAll() {
+        return snapshot.all();
+    }
+
+    /**
+     * Reloads once the current transaction commits, or immediately outside of one.
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload(readVersion());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload(readVersion());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${security.roles.refresh-interval:30000}")
+    public void poll() {
+        refresh();
+    }
+
+    private Snapshot refresh() {
+        Version version = readVersion();
+        if (version.equals(snapshot.version())) {
+            return snapshot;
+        }
+        log.info("Roles changed, reloading");
+        return reload(version);
+    }
+
+    /**
+     * The version is read before the rows, so a change landing in between only causes one
+     * extra reload on the next poll.
+     */
+    private synchronized Snapshot reload(Version version) {
+        List<Role> roles = roleRepository.findAll().stream()
+                .map(RoleRegistry::detachedCopy)
+                .sorted(Comparator.comparing(Role::getName))
+                .toList();
+        Snapshot loaded = new Snapshot(
+                roles.stream().collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity())),
+                roles.stream().collect(Collectors.toUnmodifiableMap(Role::getId, Function.identity())),
+                roles,
+                version);
+        snapshot = loaded;
+        log.debug("Loaded {} roles", roles.size());
+        return loaded;
+    }
+
+    private Version readVersion() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), MAX(updated_at) FROM roles",
+                (rs, rowNum) -> new Version(rs.getLong(1), rs.getTimestamp(2)));
+    }
+
+    private static Role detachedCopy(Role role) {
+        return Role.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .description(role.getDescription())
+                .createdAt(role.getCreatedAt())
+                .updatedAt(role.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,18 +1,28 @@
 package com.example.auth_service.service;
 
+import com.example.auth_service.dto.request.BulkRoleRequest;
+import com.example.auth_service.dto.response.BulkRoleResult;
 import com.example.auth_service.entity.Role;
 import com.example.auth_service.entity.User;
 import com.example.auth_service.exception.AuthException;
 import com.example.auth_service.exception.UserNotFoundException;
 import com.example.auth_service.repository.RoleRepository;
 import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -22,17 +32,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RoleService {
 
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final RoleRegistry roleRegistry;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private record RoleDiff(Set<UUID> add, Set<UUID> remove) {
+    }
 
-    @Transactional(readOnly = true)
     public List<Role> getAllRoles() {
-        return roleRepository.findAll();
+        return roleRegistry.findAll();
     }
 
-    @Transactional(readOnly = true)
     public Role getRoleByName(String name) {
-        return roleRepository.findByName(name)
+        return roleRegistry.findByName(name)
                 .orElseThrow(() -> new AuthException("Role not found: " + name, HttpStatus.NOT_FOUND));
     }
 
@@ -48,6 +65,7 @@ public class RoleService {
                 .build();
 
         role = roleRepository.save(role);
+        roleRegistry.reloadAfterCommit();
         log.info("Role created: {}", name);
         return role;
     }
@@ -59,6 +77,7 @@ public class RoleService {
 
         role.setDescription(description);
         role = roleRepository.save(role);
+        roleRegistry.reloadAfterCommit();
         log.info("Role updated: {}", role.getName());
         return role;
     }
@@ -74,6 +93,8 @@ public class RoleService {
         }
 
         roleRepository.delete(role);
+        roleRegistry.reloadAfterCommit();
+        principalCache.evictAll();
         log.info("Role deleted: {}", role.getName());
     }
 
@@ -82,7 +103,7 @@ public class RoleService {
         User user = userRepository.findById(userId)
                 .orElseThrow(UserNotFoundException::new);
 
-        Role role = roleRepository.findByName(roleName)
+        Role role = roleRegistry.findByName(roleName)
                 .orElseThrow(() -> new AuthException("Role not found: " + roleName, HttpStatus.NOT_FOUND));
 
         if (user.hasRole(roleName)) {
@@ -91,6 +112,7 @@ public class RoleService {
 
         user.addRole(role);
         user = userRepository.save(user);
+        principalCache.evict(userId);
         log.info("Role {} assigned to user {}", roleName, maskEmail(user.getEmail()));
         return user;
     }
@@ -100,7 +122,7 @@ public class RoleService {
         User user = userRepository.findById(userId)
                 .orElseThrow(UserNotFoundException::new);
 
-        Role role = roleRepository.findByName(roleName)
+        Role role = roleRegistry.findByName(roleName)
                 .orElseThrow(() -> new AuthException("Role not found: " + roleName, HttpStatus.NOT_FOUND));
 
         if (!user.hasRole(roleName)) {
@@ -114,6 +136,7 @@ public class RoleService {
 
         user.removeRole(role);
         user = userRepository.save(user);
+        principalCache.evict(userId);
         log.info("Role {} removed from user {}", roleName, maskEmail(user.getEmail()));
         return user;
     }
@@ -123,7 +146,7 @@ public class RoleService {
         User user = userRepository.findById(userId)
                 .orElseThrow(UserNotFoundException::new);
 
-        Set<Role> newRoles = roleRepository.findByNameIn(roleNames);
+        Set<Role> newRoles = roleRegistry.findByNames(roleNames);
 
         if (newRoles.size() != roleNames.size()) {
             Set<String> foundNames = newRoles.stream().map(Role::getName).collect(Collectors.toSet());
@@ -142,10 +165,127 @@ public class RoleService {
         newRoles.forEach(user::addRole);
 
         user = userRepository.save(user);
+        principalCache.evict(userId);
         log.info("Roles updated for user {}: {}", maskEmail(user.getEmail()), roleNames);
         return user;
     }
 
+    /**
+     * Applies role changes to many users, {@value #BULK_CHUNK_SIZE} users per transaction,
+     * with one membership read and one INSERT or DELETE per role per chunk. Each user's change
+     * is all or nothing; a change that would leave a user without roles is rejected. The
+     * chunk's user rows are locked before memberships are read, so concurrent bulk changes
+     * to the same users run one after the other and the last-role check stays valid.
+     */
+    public List<BulkRoleResult> applyBulkRoleChanges(BulkRoleRequest request) {
+        Map<UUID, RoleDiff> diffs = toDiffs(request);
+        List<UUID> userIds = new ArrayList<>(diffs.keySet());
+        List<BulkRoleResult> results = new ArrayList<>(userIds.size());
+        for (int from = 0; from < userIds.size(); from += BULK_CHUNK_SIZE) {
+            List<UUID> chunk = userIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, userIds.size()));
+            results.addAll(transactionTemplate.execute(status -> applyChunk(chunk, diffs)));
+        }
+        log.info("Bulk role change applied to {} users", userIds.size());
+        return results;
+    }
+
+    private Map<UUID, RoleDiff> toDiffs(BulkRoleRequest request) {
+        boolean single = request.getRoleName() != null || request.getAction() != null || request.getUserIds() != null;
+        boolean perUser = request.getChanges() != null && !request.getChanges().isEmpty();
+        if (single == perUser || (single && (request.getRoleName() == null || request.getAction() == null
+                || request.getUserIds() == null || request.getUserIds().isEmpty()))) {
+            throw new AuthException("Provide either roleName, action and userIds, or changes", HttpStatus.BAD_REQUEST);
+        }
+
+        Map<UUID, RoleDiff> diffs = new LinkedHashMap<>();
+        if (single) {
+            UUID roleId = resolveRoleIds(Set.of(request.getRoleName())).iterator().next();
+            boolean assign = request.getAction() == BulkRoleRequest.Action.ASSIGN;
+            for (UUID userId : request.getUserIds()) {
+                diffs.put(userId, new RoleDiff(assign ? Set.of(roleId) : Set.of(), assign ? Set.of() : Set.of(roleId)));
+            }
+            return diffs;
+        }
+
+        for (BulkRoleRequest.UserRoleChange change : request.getChanges()) {
+            RoleDiff diff = diffs.computeIfAbsent(change.getUserId(), id -> new RoleDiff(new HashSet<>(), new HashSet<>()));
+            diff.add().addAll(resolveRoleIds(change.getAdd()));
+            diff.remove().addAll(resolveRoleIds(change.getRemove()));
+            if (diff.add().stream().anyMatch(diff.remove()::contains)) {
+                throw new AuthException("Role both added and removed for user " + change.getUserId(), HttpStatus.BAD_REQUEST);
+            }
+        }
+        return diffs;
+    }
+
+    private Set<UUID> resolveRoleIds(Set<String> roleNames) {
+        if (roleNames == null || roleNames.isEmpty()) {
+            return Set.of();
+        }
+        Set<Role> roles = roleRegistry.findByNames(roleNames);
+        if (roles.size() != roleNames.size()) {
+            Set<String> foundNames = roles.stream().map(Role::getName).collect(Collectors.toSet());
+            Set<String> notFound = roleNames.stream()
+                    .filter(name -> !foundNames.contains(name))
+                    .collect(Collectors.toSet());
+            throw new AuthException("Roles not found: " + notFound, HttpStatus.NOT_FOUND);
+        }
+        return roles.stream().map(Role::getId).collect(Collectors.toSet());
+    }
+
+    private List<BulkRoleResult> applyChunk(List<UUID> userIds, Map<UUID, RoleDiff> diffs) {
+        Map<String, Object> params = Map.of("ids", userIds);
+        // Ordered, so two chunks sharing users always lock them in the same order
+        Set<UUID> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE", params, UUID.class));
+        Map<UUID, Set<UUID>> held = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT user_id, role_id FROM user_roles WHERE user_id IN (:ids)", params,
+                rs -> {
+                    held.computeIfAbsent(rs.getObject("user_id", UUID.class), id -> new HashSet<>())
+                            .add(rs.getObject("role_id", UUID.class));
+                });
+
+        List<BulkRoleResult> results = new ArrayList<>(userIds.size());
+        Map<UUID, List<UUID>> insertsByRole = new HashMap<>();
+        Map<UUID, List<UUID>> deletesByRole = new HashMap<>();
+        List<UUID> updated = new ArrayList<>();
+        for (UUID userId : userIds) {
+            if (!existing.contains(userId)) {
+                results.add(new BulkRoleResult(userId, BulkRoleResult.Status.NOT_FOUND, null));
+                continue;
+            }
+            Set<UUID> current = held.getOrDefault(userId, Set.of());
+            RoleDiff diff = diffs.get(userId);
+            List<UUID> toAdd = diff.add().stream().filter(roleId -> !current.contains(roleId)).toList();
+            List<UUID> toRemove = diff.remove().stream().filter(current::contains).toList();
+
+            if (current.size() + toAdd.size() - toRemove.size() <= 0) {
+                results.add(new BulkRoleResult(userId, BulkRoleResult.Status.REJECTED,
+                        "Cannot remove the last role from user"));
+            } else if (toAdd.isEmpty() && toRemove.isEmpty()) {
+                results.add(new BulkRoleResult(userId, BulkRoleResult.Status.UNCHANGED, null));
+            } else {
+                toAdd.forEach(roleId -> insertsByRole.computeIfAbsent(roleId, id -> new ArrayList<>()).add(userId));
+                toRemove.forEach(roleId -> deletesByRole.computeIfAbsent(roleId, id -> new ArrayList<>()).add(userId));
+                updated.add(userId);
+                results.add(new BulkRoleResult(userId, BulkRoleResult.Status.UPDATED, null));
+            }
+        }
+
+        // NOT EXISTS keeps a concurrent single assignment from failing the chunk
+        insertsByRole.forEach((roleId, ids) -> namedParameterJdbcTemplate.update("""
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT u.id, :roleId FROM users u
+                WHERE u.id IN (:ids)
+                  AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)
+                """, Map.of("roleId", roleId, "ids", ids)));
+        deletesByRole.forEach((roleId, ids) -> namedParameterJdbcTemplate.update(
+                "DELETE FROM user_roles WHERE role_id = :roleId AND user_id IN (:ids)",
+                Map.of("roleId", roleId, "ids", ids)));
+        principalCache.evictAfterCommit(updated);
+        return results;
+    }
+
     @Transactional(readOnly = true)
     public Set<String> getUserRoles(UUID userId) {
         User user = userRepository.findById(userId)
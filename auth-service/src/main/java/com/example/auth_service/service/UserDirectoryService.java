@@ -0,0 +1,168 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.response.UserDirectoryEntry;
+import com.example.auth_service.dto.response.UserDirectoryPage;
+import com.example.auth_service.dto.response.UserSummary;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.exception.AuthException;
+import com.example.auth_service.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-only views of users for other services and admin tooling. Queries project straight
+ * into DTOs so the EAGER {@code roles} association is never loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDirectoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final UserRepository userRepository;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final RoleRegistry roleRegistry;
+
+    private record Cursor(Instant createdAt, UUID id) {
+    }
+
+    /**
+     * Summaries of the given users in one query; unknown ids are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummary> getSummaries(Collection<UUID> ids) {
+        List<UUID> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        log.debug("Fetching summaries for {} users", distinct.size());
+        return userRepository.findSummariesByIdIn(distinct);
+    }
+
+    /**
+     * Newest users first, optionally narrowed to those whose email, first or last name starts
+     * with {@code query} (case-insensitive) and to members of {@code roleName}. Pages are
+     * keyed on {@code (created_at, id)}, so each one costs the same however deep it is.
+     */
+    @Transactional(readOnly = true)
+    public UserDirectoryPage search(String query, String roleName, String cursor, Integer size) {
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT u.id, u.email, u.first_name, u.last_name, u.avatar_url, u.email_verified, u.is_active, u.created_at
+                FROM users u
+                WHERE 1 = 1
+                """);
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit + 1);
+
+        if (StringUtils.hasText(query)) {
+            sql.append("""
+                      AND (lower(u.email) LIKE :prefix ESCAPE '\\'
+                           OR lower(u.first_name) LIKE :prefix ESCAPE '\\'
+                           OR lower(u.last_name) LIKE :prefix ESCAPE '\\')
+                    """);
+            params.addValue("prefix", escapeLike(query.trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (StringUtils.hasText(roleName)) {
+            Role role = roleRegistry.findByName(roleName.trim().toUpperCase(Locale.ROOT))
+                    .orElseThrow(() -> new AuthException("Role not found: " + roleName, HttpStatus.NOT_FOUND));
+            sql.append("""
+                      AND EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)
+                    """);
+            params.addValue("roleId", role.getId());
+        }
+        if (StringUtils.hasText(cursor)) {
+            Cursor after = decodeCursor(cursor);
+            sql.append("""
+                      AND (u.created_at, u.id) < (:cursorCreatedAt, :cursorId)
+                    """);
+            params.addValue("cursorCreatedAt", Timestamp.from(after.createdAt()));
+            params.addValue("cursorId", after.id());
+        }
+        sql.append("ORDER BY u.created_at DESC, u.id DESC LIMIT :limit");
+
+        List<UserDirectoryEntry> rows = namedParameterJdbcTemplate.query(sql.toString(), params,
+                (rs, rowNum) -> new UserDirectoryEntry(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("email"),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("avatar_url"),
+                        rs.getBoolean("email_verified"),
+                        rs.getBoolean("is_active"),
+                        null,
+                        rs.getTimestamp("created_at").toInstant()));
+
+        boolean hasMore = rows.size() > limit;
+        List<UserDirectoryEntry> page = withRoles(hasMore ? rows.subList(0, limit) : rows);
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new UserDirectoryPage(page, nextCursor);
+    }
+
+    /**
+     * One {@code user_roles} read for the page; names come from the {@link RoleRegistry}.
+     */
+    private List<UserDirectoryEntry> withRoles(List<UserDirectoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Set<String>> roles = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT user_id, role_id FROM user_roles WHERE user_id IN (:ids)",
+                Map.of("ids", entries.stream().map(UserDirectoryEntry::id).toList()),
+                rs -> {
+                    roleRegistry.findById(rs.getObject("role_id", UUID.class)).ifPresent(role ->
+                            roles.computeIfAbsent(rs.getObject("user_id", UUID.class), id -> new HashSet<>())
+                                    .add(role.getName()));
+                });
+
+        List<UserDirectoryEntry> result = new ArrayList<>(entries.size());
+        for (UserDirectoryEntry e : entries) {
+            result.add(new UserDirectoryEntry(e.id(), e.email(), e.firstName(), e.lastName(), e.avatarUrl(),
+                    e.emailVerified(), e.active(), roles.getOrDefault(e.id(), Set.of()), e.createdAt()));
+        }
+        return result;
+    }
+
+    private static String encodeCursor(UserDirectoryEntry last) {
+        String value = last.createdAt() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new Cursor(Instant.parse(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new AuthException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.ImportUserRequest;
+import com.example.auth_service.exception.AuthException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads import rows one line at a time from CSV (header row required: {@code email},
+ * {@code password}, {@code firstName}, {@code lastName}, optional {@code roles} separated by
+ * {@code ;}) or NDJSON (one {@link ImportUserRequest} object per line).
+ */
+class UserImportParser {
+
+    record Row(int line, ImportUserRequest request, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final UserImportService.Format format;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> columns;
+    private int line;
+
+    UserImportParser(BufferedReader reader, UserImportService.Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The next non-blank row, or {@code null} at the end of the input.
+     */
+    Row next() {
+        try {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (format == UserImportService.Format.NDJSON) {
+                    return parseJson(text);
+                }
+                if (columns == null) {
+                    columns = header(text);
+                    continue;
+                }
+                return parseCsv(text);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Row parseJson(String text) {
+        try {
+            return new Row(line, objectMapper.readValue(text, ImportUserRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row parseCsv(String text) {
+        List<String> values = splitCsv(text);
+        if (values == null) {
+            return new Row(line, null, "Unterminated quoted value");
+        }
+        Set<String> roles = new LinkedHashSet<>();
+        String roleList = value(values, "roles");
+        if (roleList != null) {
+            Arrays.stream(roleList.split(";"))
+                    .map(String::trim)
+                    .filter(role -> !role.isEmpty())
+                    .forEach(roles::add);
+        }
+        return new Row(line, ImportUserRequest.builder()
+                .email(value(values, "email"))
+                .password(value(values, "password"))
+                .firstName(value(values, "firstname"))
+                .lastName(value(values, "lastname"))
+                .roles(roles)
+                .build(), null);
+    }
+
+    private Map<String, Integer> header(String text) {
+        List<String> names = splitCsv(text);
+        if (names == null || !names.stream().map(UserImportParser::columnKey).toList().contains("email")) {
+            throw new AuthException("CSV header must name the columns, including email", HttpStatus.BAD_REQUEST);
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            indexes.put(columnKey(names.get(i)), i);
+        }
+        return indexes;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        return index == null || index >= values.size() ? null : values.get(index);
+    }
+
+    private static String columnKey(String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * RFC 4180 fields on a single line; {@code null} if a quoted field is not closed.
+     */
+    static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(field.toString());
+        return values;
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.config.UserImportProperties;
+import com.example.auth_service.dto.request.ImportUserRequest;
+import com.example.auth_service.dto.response.ImportUserResult;
+import com.example.auth_service.dto.response.ImportUserResult.Status;
+import com.example.auth_service.entity.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import. Rows are processed in chunks of {@code users.import.chunk-size}: one
+ * query finds emails that already exist, passwords are hashed in parallel on a pool of its
+ * own (so an import cannot starve logins on {@link com.example.auth_service.security.PasswordHasher}),
+ * and users and their roles are written with JDBC batch inserts in one transaction per chunk.
+ * <p>
+ * Hashing bounds throughput at roughly {@code hash-threads / hash time}: at the 150 ms
+ * calibration target, 100k rows are 15,000 thread-seconds, about 16 minutes on 16 threads
+ * and an hour on 4. To import that many in minutes, run the import on a replica taken out
+ * of login traffic with {@code users.import.hash-threads} set to its core count; the
+ * finishing log line reports the rate achieved.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, email, password_hash, first_name, last_name, email_verified, is_active,
+                               failed_login_attempts, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, FALSE, TRUE, 0, ?, ?)
+            """;
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RoleRegistry roleRegistry;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final ThreadPoolExecutor hashPool;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private record Pending(UserImportParser.Row row, String email, Set<Role> roles) {
+    }
+
+    private record Hashed(Pending pending, UUID id, String passwordHash) {
+    }
+
+    public UserImportService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             PasswordEncoder passwordEncoder,
+                             RoleRegistry roleRegistry,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             UserImportProperties properties) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.jdbcTemplate = namedParameterJdbcTemplate.getJdbcTemplate();
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.roleRegistry = roleRegistry;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        int threads = properties.getHashThreads() > 0
+                ? properties.getHashThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Caller-runs keeps the importing thread busy instead of queueing without bound
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getChunkSize()), namedThreads(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Imports every row from {@code reader}, passing each row's outcome to {@code results}
+     * as soon as its chunk is done. Returns the number of users created.
+     */
+    public int importUsers(BufferedReader reader, Format format, Consumer<ImportUserResult> results) {
+        long start = System.nanoTime();
+        UserImportParser parser = new UserImportParser(reader, format, objectMapper);
+        List<UserImportParser.Row> chunk = new ArrayList<>(properties.getChunkSize());
+        int rows = 0;
+        int created = 0;
+        UserImportParser.Row row;
+        while ((row = parser.next()) != null) {
+            if (++rows > properties.getMaxRows()) {
+                results.accept(ImportUserResult.of(row.line(), null, Status.INVALID,
+                        "Row limit of " + properties.getMaxRows() + " reached, remaining rows ignored"));
+                break;
+            }
+            chunk.add(row);
+            if (chunk.size() == properties.getChunkSize()) {
+                created += importChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += importChunk(chunk, results);
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("User import finished: {} rows, {} users created in {} ms ({} users/s)",
+                Math.min(rows, properties.getMaxRows()), created, elapsedMs, created * 1000L / elapsedMs);
+        return created;
+    }
+
+    private int importChunk(List<UserImportParser.Row> rows, Consumer<ImportUserResult> results) {
+        List<Pending> pending = new ArrayList<>(rows.size());
+        Set<String> seen = new HashSet<>();
+        for (UserImportParser.Row row : rows) {
+            String problem = validate(row);
+            String email = problem == null ? normalize(row.request().getEmail()) : emailOf(row);
+            if (problem == null && !seen.add(email)) {
+                problem = "Email appears more than once in the upload";
+            }
+            Set<Role> roles = Set.of();
+            if (problem == null) {
+                Set<String> names = row.request().getRoles() == null || row.request().getRoles().isEmpty()
+                        ? Set.of(Role.USER)
+                        : row.request().getRoles().stream()
+                                .map(name -> name.trim().toUpperCase(Locale.ROOT))
+                                .collect(Collectors.toSet());
+                roles = roleRegistry.findByNames(names);
+                if (roles.size() != names.size()) {
+                    problem = "Unknown roles in " + names;
+                }
+            }
+            if (problem != null) {
+                results.accept(ImportUserResult.of(row.line(), email, Status.INVALID, problem));
+            } else {
+                pending.add(new Pending(row, email, roles));
+            }
+        }
+
+        pending = withoutExisting(pending, results);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Hashed> hashed = hash(pending);
+        try {
+            insert(hashed);
+        } catch (DuplicateKeyException e) {
+            // Another import or a registration took one of the emails after the check
+            Set<String> kept = withoutExisting(pending, results).stream().map(Pending::email).collect(Collectors.toSet());
+            hashed = hashed.stream().filter(h -> kept.contains(h.pending().email())).toList();
+            try {
+                insert(hashed);
+            } catch (DuplicateKeyException retryFailure) {
+                hashed.forEach(h -> results.accept(ImportUserResult.of(h.pending().row().line(), h.pending().email(),
+                        Status.FAILED, "Concurrent change, retry this row")));
+                return 0;
+            }
+        }
+        hashed.forEach(h -> results.accept(ImportUserResult.created(h.pending().row().line(), h.pending().email(), h.id())));
+        return hashed.size();
+    }
+
+    private String validate(UserImportParser.Row row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        Set<ConstraintViolation<ImportUserRequest>> violations = validator.validate(row.request());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * One {@code IN} query per chunk; rows whose email is taken are reported as EXISTS.
+     */
+    private List<Pending> withoutExisting(List<Pending> pending, Consumer<ImportUserResult> results) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        Set<String> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT email FROM users WHERE email IN (:emails)",
+                Map.of("emails", pending.stream().map(Pending::email).toList()),
+                String.class));
+        List<Pending> remaining = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            if (existing.contains(p.email())) {
+                results.accept(ImportUserResult.of(p.row().line(), p.email(), Status.EXISTS, "Email already registered"));
+            } else {
+                remaining.add(p);
+            }
+        }
+        return remaining;
+    }
+
+    private List<Hashed> hash(List<Pending> pending) {
+        List<CompletableFuture<Hashed>> futures = pending.stream()
+                .map(p -> CompletableFuture.supplyAsync(
+                        () -> new Hashed(p, UUID.randomUUID(), passwordEncoder.encode(p.row().request().getPassword())),
+                        hashPool))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private void insert(List<Hashed> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> userRows = new ArrayList<>(users.size());
+        List<Object[]> roleRows = new ArrayList<>(users.size());
+        for (Hashed h : users) {
+            ImportUserRequest request = h.pending().row().request();
+            userRows.add(new Object[]{h.id(), h.pending().email(), h.passwordHash(),
+                    request.getFirstName().trim(), request.getLastName().trim(), now, now});
+            h.pending().roles().forEach(role -> roleRows.add(new Object[]{h.id(), role.getId()}));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_USER, userRows);
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, roleRows);
+        });
+    }
+
+    private static String emailOf(UserImportParser.Row row) {
+        return row.request() == null || row.request().getEmail() == null ? null : normalize(row.request().getEmail());
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+}
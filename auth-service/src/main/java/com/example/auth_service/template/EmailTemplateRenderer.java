@@ -0,0 +1,108 @@
+package com.example.auth_service.template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders email templates from a {@link RenderPlan} compiled once per template: Thymeleaf
+ * processes the template a single time with marker values in place of the variables, and
+ * the output is split at the markers. Only templates whose markup does not depend on the
+ * variable values can be planned; that is verified by compiling twice with different
+ * markers, and templates that fail the check keep going through Thymeleaf.
+ * <p>
+ * With {@code spring.thymeleaf.cache=false} (dev) plans are rebuilt on every call so
+ * template edits show up immediately.
+ */
+@Slf4j
+@Component
+public class EmailTemplateRenderer {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final TemplateEngine templateEngine;
+    private final boolean cache;
+    private final Map<String, Optional<RenderPlan>> plans = new ConcurrentHashMap<>();
+
+    public EmailTemplateRenderer(TemplateEngine templateEngine,
+                                 @Value("${spring.thymeleaf.cache:true}") boolean cache) {
+        this.templateEngine = templateEngine;
+        this.cache = cache;
+    }
+
+    /**
+     * Renders {@code template} with {@code variables}. Every call for a template must pass
+     * the same variable names.
+     */
+    public String render(String template, Map<String, ?> variables) {
+        Optional<RenderPlan> plan = cache
+                ? plans.computeIfAbsent(template, name -> compile(name, variables.keySet()))
+                : compile(template, variables.keySet());
+        return plan.map(p -> p.render(variables))
+                .orElseGet(() -> {
+                    Context context = new Context();
+                    context.setVariables(new HashMap<>(variables));
+                    return templateEngine.process(template, context);
+                });
+    }
+
+    private Optional<RenderPlan> compile(String template, Iterable<String> names) {
+        List<String> slotNames = new ArrayList<>();
+        names.forEach(slotNames::add);
+
+        RenderPlan first = compile(template, slotNames, newMarker());
+        RenderPlan second = compile(template, slotNames, newMarker());
+        if (first == null || !first.equals(second)) {
+            log.warn("Template {} depends on its variable values, rendering it with Thymeleaf", template);
+            return Optional.empty();
+        }
+        log.debug("Compiled render plan for template {}", template);
+        return Optional.of(first);
+    }
+
+    private RenderPlan compile(String template, List<String> slotNames, String marker) {
+        Context context = new Context();
+        for (int i = 0; i < slotNames.size(); i++) {
+            context.setVariable(slotNames.get(i), marker + i + '_');
+        }
+        String output = templateEngine.process(template, context);
+
+        List<String> fragments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int from = 0;
+        int at;
+        while ((at = output.indexOf(marker, from)) >= 0) {
+            int indexStart = at + marker.length();
+            int indexEnd = output.indexOf('_', indexStart);
+            if (indexEnd < 0) {
+                return null;
+            }
+            fragments.add(output.substring(from, at));
+            slots.add(slotNames.get(Integer.parseInt(output, indexStart, indexEnd, 10)));
+            from = indexEnd + 1;
+        }
+        fragments.add(output.substring(from));
+        return new RenderPlan(fragments, slots);
+    }
+
+    /**
+     * Alphanumeric, so escaping leaves it intact, and random, so it cannot occur in the
+     * template itself.
+     */
+    private static String newMarker() {
+        byte[] bytes = new byte[8];
+        RANDOM.nextBytes(bytes);
+        return "tfslot" + HexFormat.of().formatHex(bytes) + "x";
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.auth_service.template;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A rendered template cut into static fragments with a variable slot between each pair.
+ * Rendering appends the fragments and the HTML-escaped values into one pre-sized builder.
+ */
+final class RenderPlan {
+
+    private final String[] fragments;
+    private final String[] slots;
+    private final int staticLength;
+
+    RenderPlan(List<String> fragments, List<String> slots) {
+        if (fragments.size() != slots.size() + 1) {
+            throw new IllegalArgumentException("Expected one more fragment than slots");
+        }
+        this.fragments = fragments.toArray(String[]::new);
+        this.slots = slots.toArray(String[]::new);
+        this.staticLength = fragments.stream().mapToInt(String::length).sum();
+    }
+
+    String render(Map<String, ?> variables) {
+        StringBuilder out = new StringBuilder(staticLength + 64 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(fragments[i]);
+            Object value = variables.get(slots[i]);
+            if (value != null) {
+                appendEscaped(out, value.toString());
+            }
+        }
+        return out.append(fragments[slots.length]).toString();
+    }
+
+    /**
+     * Same escaping Thymeleaf applies to {@code th:text} and attribute values.
+     */
+    static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RenderPlan other
+                && Arrays.equals(fragments, other.fragments)
+                && Arrays.equals(slots, other.slots);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(fragments) + Arrays.hashCode(slots);
+    }
+}
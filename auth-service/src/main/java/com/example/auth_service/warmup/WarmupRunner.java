@@ -0,0 +1,129 @@
+package com.example.auth_service.warmup;
+
+import com.example.auth_service.config.WarmupProperties;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.security.CustomUserDetailsService;
+import com.example.auth_service.security.JwtService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Exercises the hot request paths with synthetic data before the service reports ready.
+ * Runners complete before Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC, so
+ * /actuator/health/readiness stays OUT_OF_SERVICE until this finishes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private final WarmupProperties warmupProperties;
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.isEnabled()) {
+            return;
+        }
+
+        long deadline = System.currentTimeMillis() + warmupProperties.getMaxDuration();
+        long start = System.nanoTime();
+
+        timed("connection-pool", this::prefillConnectionPool);
+        timed("jwt", () -> repeat(deadline, this::signAndParseToken));
+        timed("load-user", () -> repeat(deadline, this::loadUnknownUser));
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Warm-up finished in {} ms", elapsedMs);
+    }
+
+    private void prefillConnectionPool() {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            return;
+        }
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < hikari.getMinimumIdle(); i++) {
+                connections.add(hikari.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Connection pool prefill stopped early: {}", e.getMessage());
+        } finally {
+            connections.forEach(this::closeQuietly);
+        }
+    }
+
+    private void signAndParseToken() {
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("warmup@taskflow.local")
+                .firstName("Warm")
+                .lastName("Up")
+                .roles(Set.of(Role.builder().name(Role.USER).build()))
+                .build();
+
+        String accessToken = jwtService.generateAccessToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user);
+        jwtService.parse(accessToken);
+        jwtService.parse(refreshToken);
+    }
+
+    private void loadUnknownUser() {
+        try {
+            userDetailsService.loadUserById(UUID.randomUUID());
+        } catch (UsernameNotFoundException expected) {
+            // synthetic ids never exist, the query path is what gets warmed
+        }
+        try {
+            userDetailsService.loadUserByUsername(UUID.randomUUID() + "@warmup.taskflow.local");
+        } catch (UsernameNotFoundException expected) {
+            // same as above
+        }
+    }
+
+    private void repeat(long deadline, Runnable step) {
+        for (int i = 0; i < warmupProperties.getIterations() && System.currentTimeMillis() < deadline; i++) {
+            step.run();
+        }
+    }
+
+    private void timed(String step, Runnable work) {
+        Timer timer = Timer.builder("warmup.duration")
+                .description("Time spent in each startup warm-up step")
+                .tag("step", step)
+                .register(meterRegistry);
+        try {
+            timer.record(work);
+        } catch (RuntimeException e) {
+            // warm-up must never keep the service from starting
+            log.warn("Warm-up step {} failed: {}", step, e.getMessage());
+        }
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to return warm-up connection: {}", e.getMessage());
+        }
+    }
+}
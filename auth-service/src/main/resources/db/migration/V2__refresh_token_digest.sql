@@ -0,0 +1,13 @@
+-- Refresh tokens are looked up by the SHA-256 of the signed JWT instead of the JWT itself.
+-- A 32-byte key keeps the unique index small; the raw token no longer needs to be stored.
+
+ALTER TABLE refresh_tokens ADD COLUMN token_hash BYTEA;
+
+UPDATE refresh_tokens SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash);
+
+-- Drops the redundant lookup index, then the column together with its UNIQUE constraint
+DROP INDEX IF EXISTS idx_refresh_tokens_token;
+ALTER TABLE refresh_tokens DROP COLUMN token;
@@ -0,0 +1,89 @@
+-- Range-partition refresh_tokens and verification_tokens by expiry day so cleanup can
+-- drop whole partitions instead of running large DELETEs.
+--
+-- Partitions are named <table>_pYYYYMMDD and cover [day, day + 1). A DEFAULT partition
+-- catches anything outside the pre-created range. TokenPartitionManager keeps creating
+-- partitions ahead and drops the expired ones.
+--
+-- Primary keys and unique constraints on a partitioned table must include the partition
+-- key, so they become (id, expires_at) and (token_hash, expires_at) / (token, expires_at).
+
+CREATE OR REPLACE FUNCTION create_token_partition(parent TEXT, partition_day DATE) RETURNS VOID AS $$
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   parent || '_p' || to_char(partition_day, 'YYYYMMDD'), parent, partition_day, partition_day + 1);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Refresh tokens
+
+ALTER TABLE refresh_tokens RENAME TO refresh_tokens_legacy;
+DROP INDEX IF EXISTS idx_refresh_tokens_user_id;
+DROP INDEX IF EXISTS idx_refresh_tokens_expires_at;
+
+CREATE TABLE refresh_tokens (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash BYTEA NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    is_revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_refresh_tokens PRIMARY KEY (id, expires_at),
+    CONSTRAINT uk_refresh_tokens_token_hash_expires_at UNIQUE (token_hash, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+CREATE TABLE refresh_tokens_default PARTITION OF refresh_tokens DEFAULT;
+
+CREATE INDEX idx_refresh_tokens_user_id ON refresh_tokens(user_id);
+
+-- Verification tokens
+
+ALTER TABLE verification_tokens RENAME TO verification_tokens_legacy;
+DROP INDEX IF EXISTS idx_verification_tokens_user_id;
+DROP INDEX IF EXISTS idx_verification_tokens_token;
+DROP INDEX IF EXISTS idx_verification_tokens_type;
+
+CREATE TABLE verification_tokens (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token VARCHAR(512) NOT NULL,
+    token_type VARCHAR(50) NOT NULL CHECK (token_type IN ('EMAIL_VERIFICATION', 'PASSWORD_RESET')),
+    expires_at TIMESTAMP NOT NULL,
+    used BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_verification_tokens PRIMARY KEY (id, expires_at),
+    CONSTRAINT uk_verification_tokens_token_expires_at UNIQUE (token, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+CREATE TABLE verification_tokens_default PARTITION OF verification_tokens DEFAULT;
+
+CREATE INDEX idx_verification_tokens_user_id ON verification_tokens(user_id);
+CREATE INDEX idx_verification_tokens_token ON verification_tokens(token);
+
+-- Daily partitions from yesterday to two weeks ahead (refresh tokens live 7 days)
+
+DO $$
+DECLARE
+    d DATE;
+BEGIN
+    FOR d IN SELECT generate_series(current_date - 1, current_date + 14, interval '1 day')::date LOOP
+        PERFORM create_token_partition('refresh_tokens', d);
+        PERFORM create_token_partition('verification_tokens', d);
+    END LOOP;
+END;
+$$;
+
+-- Carry over tokens that are still usable; expired rows are dropped with the old tables
+
+INSERT INTO refresh_tokens (id, user_id, token_hash, expires_at, is_revoked, created_at)
+SELECT id, user_id, token_hash, expires_at, is_revoked, created_at
+FROM refresh_tokens_legacy
+WHERE expires_at >= CURRENT_TIMESTAMP;
+
+INSERT INTO verification_tokens (id, user_id, token, token_type, expires_at, used, created_at)
+SELECT id, user_id, token, token_type, expires_at, used, created_at
+FROM verification_tokens_legacy
+WHERE expires_at >= CURRENT_TIMESTAMP;
+
+DROP TABLE refresh_tokens_legacy;
+DROP TABLE verification_tokens_legacy;
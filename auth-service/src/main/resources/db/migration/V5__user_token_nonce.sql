@@ -0,0 +1,4 @@
+-- Signed verification and reset tokens (token.verification-mode: signed) carry this
+-- value; bumping it makes every outstanding token of the user unusable.
+
+ALTER TABLE users ADD COLUMN token_nonce INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Admin user directory (GET /users): newest-first keyset pages and case-insensitive
+-- prefix search. text_pattern_ops lets LIKE 'abc%' use the index under any collation.
+
+CREATE INDEX idx_users_created_at_id ON users(created_at DESC, id DESC);
+
+CREATE INDEX idx_users_email_prefix ON users(lower(email) text_pattern_ops);
+CREATE INDEX idx_users_first_name_prefix ON users(lower(first_name) text_pattern_ops);
+CREATE INDEX idx_users_last_name_prefix ON users(lower(last_name) text_pattern_ops);
@@ -0,0 +1,33 @@
+-- create_token_partition (V3) failed when the DEFAULT partition already held rows for the
+-- day, e.g. tokens issued past the pre-created range, which aborted the maintenance run.
+-- Such rows are now moved in the same call: the DEFAULT partition is detached, the day
+-- partition created and filled from it, and DEFAULT reattached. Runs as one statement, so
+-- it is all-or-nothing; the ACCESS EXCLUSIVE lock is only taken when rows need moving.
+
+CREATE OR REPLACE FUNCTION create_token_partition(parent TEXT, partition_day DATE) RETURNS VOID AS $$
+DECLARE
+    partition_name TEXT := parent || '_p' || to_char(partition_day, 'YYYYMMDD');
+    default_name TEXT := parent || '_default';
+    stranded BOOLEAN;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE expires_at >= %L AND expires_at < %L)',
+                   default_name, partition_day, partition_day + 1) INTO stranded;
+    IF NOT stranded THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent, partition_day, partition_day + 1);
+        RETURN;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, default_name);
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent, partition_day, partition_day + 1);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE expires_at >= %L AND expires_at < %L RETURNING *) ' ||
+                   'INSERT INTO %I SELECT * FROM moved',
+                   default_name, partition_day, partition_day + 1, partition_name);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I DEFAULT', parent, default_name);
+END;
+$$ LANGUAGE plpgsql;
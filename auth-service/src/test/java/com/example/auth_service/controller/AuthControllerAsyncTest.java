@@ -0,0 +1,212 @@
+package com.example.auth_service.controller;
+
+import com.example.auth_service.dto.request.ForgotPasswordRequest;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.EmailOutboxRepository;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.PasswordHashCalibrator;
+import com.example.auth_service.service.AuthService;
+import com.example.auth_service.support.GatedPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Hashing endpoints hand the request thread back while the hash runs, and a saturated
+ * hashing pool answers 503 straight away. One hashing thread and a queue of one.
+ */
+@SpringBootTest(properties = {
+        "security.hashing.threads=1",
+        "security.hashing.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerAsyncTest {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+    private static final Pattern RESET_TOKEN = Pattern.compile("reset-password\\?token=([A-Za-z0-9_.-]+)");
+
+    @TestConfiguration
+    static class GatedHashing {
+
+        @Bean
+        @Primary
+        GatedPasswordEncoder gatedPasswordEncoder(PasswordHashCalibrator.Calibration calibration) {
+            return new GatedPasswordEncoder(calibration.encoder());
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GatedPasswordEncoder gate;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Role userRole;
+
+    @BeforeEach
+    void setUp() {
+        userRole = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.open();
+        String testUsers = "SELECT id FROM users WHERE email LIKE 'async-%@example.com'";
+        jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM verification_tokens WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE recipient LIKE 'async-%@example.com'");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'async-%@example.com'");
+    }
+
+    @Test
+    void loginRegisterAndResetReleaseTheRequestThreadWhileHashing() throws Exception {
+        String email = seedUser();
+        authService.forgotPassword(new ForgotPasswordRequest(email));
+        String resetToken = resetTokenFor(email);
+
+        whileHashing(post("/login"), Map.of("email", email, "password", PASSWORD), status().isOk());
+        whileHashing(post("/register"), Map.of(
+                "email", "async-" + UUID.randomUUID() + "@example.com",
+                "password", PASSWORD,
+                "firstName", "Async",
+                "lastName", "Register"), status().isCreated());
+        whileHashing(post("/reset-password"), Map.of("token", resetToken, "newPassword", "N3wSecret!!"),
+                status().isOk());
+    }
+
+    @Test
+    void fullHashingQueueAnswers503AndRecordsMeters() throws Exception {
+        String running = seedUser();
+        String queued = seedUser();
+        String rejected = seedUser();
+        double rejectedBefore = meterRegistry.get("password.hash.rejected").counter().count();
+        long queueWaitsBefore = matchesTimer("password.hash.queue.wait").count();
+        long durationsBefore = matchesTimer("password.hash.duration").count();
+
+        gate.close();
+        MvcResult first = login(running);
+        assertTrue(gate.awaitEntered(1));
+        MvcResult second = login(queued);
+        assertEquals(1.0, meterRegistry.get("password.hash.queue.size").gauge().value());
+        MvcResult third = login(rejected);
+
+        mockMvc.perform(asyncDispatch(third)).andExpect(status().isServiceUnavailable());
+        assertEquals(rejectedBefore + 1, meterRegistry.get("password.hash.rejected").counter().count());
+
+        gate.open();
+        mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(second)).andExpect(status().isOk());
+        assertEquals(queueWaitsBefore + 2, matchesTimer("password.hash.queue.wait").count());
+        assertEquals(durationsBefore + 2, matchesTimer("password.hash.duration").count());
+    }
+
+    /**
+     * Sends the request with hashing held: the servlet call must return with async started
+     * while the hash is still blocked, then the dispatched result must match.
+     */
+    private void whileHashing(MockHttpServletRequestBuilder builder, Map<String, String> body,
+                              ResultMatcher expected) throws Exception {
+        gate.close();
+        MvcResult result = mockMvc.perform(builder
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(gate.awaitEntered(1), "hash should be in flight after the request thread returned");
+
+        gate.open();
+        mockMvc.perform(asyncDispatch(result)).andExpect(expected);
+    }
+
+    private MvcResult login(String email) throws Exception {
+        return mockMvc.perform(post("/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private String seedUser() {
+        String email = "async-" + UUID.randomUUID() + "@example.com";
+        User user = User.builder()
+                .email(email)
+                .passwordHash(gate.encode(PASSWORD))
+                .firstName("Async")
+                .lastName("Test")
+                .build();
+        user.getRoles().add(userRole);
+        userRepository.save(user);
+        return email;
+    }
+
+    private String resetTokenFor(String email) {
+        String body = emailOutboxRepository.findAll().stream()
+                .filter(outbound -> outbound.getRecipient().equals(email))
+                .findFirst()
+                .orElseThrow()
+                .getBody();
+        Matcher matcher = RESET_TOKEN.matcher(body);
+        assertTrue(matcher.find(), "reset link not found in email");
+        return matcher.group(1);
+    }
+
+    private Timer matchesTimer(String name) {
+        return meterRegistry.get(name)
+                .tag("operation", "matches")
+                .tag("algorithm", PasswordHashCalibrator.BCRYPT)
+                .timer();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.auth_service.controller;
+
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.service.RoleRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerImportTest {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        if (roleRepository.findByName(Role.USER).isEmpty()) {
+            roleRepository.save(Role.builder().name(Role.USER).build());
+        }
+        roleRegistry.poll();
+        prefix = "import-ctl-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                prefix + "-%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", prefix + "-%");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void importIsAdminOnly() throws Exception {
+        mockMvc.perform(post("/users/import")
+                        .contentType("text/csv")
+                        .content(csv()))
+                .andExpect(status().isForbidden());
+
+        assertTrue(userRepository.findByEmail(prefix + "-ann@example.com").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void csvUploadStreamsOneNdjsonResultPerRow() throws Exception {
+        String body = mockMvc.perform(post("/users/import")
+                        .contentType("text/csv")
+                        .content(csv()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        Map<Integer, JsonNode> results = lines(body).stream()
+                .collect(Collectors.toMap(result -> result.get("line").asInt(), Function.identity()));
+        assertEquals(2, results.size());
+        assertEquals("CREATED", results.get(2).get("status").asText());
+        assertEquals("INVALID", results.get(3).get("status").asText());
+        assertTrue(userRepository.findByEmail(prefix + "-ann@example.com").isPresent());
+    }
+
+    @Test
+    @WithMockUser(roles = "SUPER_ADMIN")
+    void ndjsonContentTypeSelectsNdjsonParser() throws Exception {
+        String ndjson = """
+                {"email":"%1$s-dee@example.com","password":"%2$s","firstName":"Dee","lastName":"Fox"}
+                """.formatted(prefix, PASSWORD);
+
+        String body = mockMvc.perform(post("/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> results = lines(body);
+        assertEquals(1, results.size());
+        assertEquals("CREATED", results.get(0).get("status").asText());
+        assertEquals(prefix + "-dee@example.com", results.get(0).get("email").asText());
+        assertFalse(results.get(0).get("id").asText().isEmpty());
+    }
+
+    private String csv() {
+        return """
+                email,password,first_name,last_name,roles
+                %1$s-ann@example.com,%2$s,Ann,Lee,
+                not-an-email,%2$s,Bad,Row,
+                """.formatted(prefix, PASSWORD);
+    }
+
+    private List<JsonNode> lines(String body) throws Exception {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+}
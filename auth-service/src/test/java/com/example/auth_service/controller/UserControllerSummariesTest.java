@@ -0,0 +1,52 @@
+package com.example.auth_service.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerSummariesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void endUsersCannotReadSummaries() throws Exception {
+        mockMvc.perform(summaries()).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "INTERNAL_SERVICE")
+    void internalServicesCanReadSummaries() throws Exception {
+        mockMvc.perform(summaries())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void adminsCanReadSummaries() throws Exception {
+        mockMvc.perform(summaries()).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder summaries() {
+        return post("/users/summaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[\"" + UUID.randomUUID() + "\"]}");
+    }
+}
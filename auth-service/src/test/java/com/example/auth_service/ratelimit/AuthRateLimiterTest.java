@@ -0,0 +1,32 @@
+package com.example.auth_service.ratelimit;
+
+import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimiterTest {
+
+    @Test
+    void rejectedRequestDoesNotSpendTheOtherLimits() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getRateLimit().setRequestsPerWindow(3);
+        properties.getRateLimit().setAccountRequestsPerWindow(10);
+        properties.getRateLimit().setAccountIpRequestsPerWindow(1);
+        AuthRateLimiter limiter = new AuthRateLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.check(AuthRateLimiter.Endpoint.LOGIN, "jane@example.com", "10.0.0.1");
+        // account+IP is used up; these must not count against the IP
+        for (int i = 0; i < 5; i++) {
+            assertThrows(RateLimitExceededException.class,
+                    () -> limiter.check(AuthRateLimiter.Endpoint.LOGIN, "jane@example.com", "10.0.0.1"));
+        }
+
+        limiter.check(AuthRateLimiter.Endpoint.LOGIN, "john@example.com", "10.0.0.1");
+        limiter.check(AuthRateLimiter.Endpoint.LOGIN, "mary@example.com", "10.0.0.1");
+        assertThrows(RateLimitExceededException.class,
+                () -> limiter.check(AuthRateLimiter.Endpoint.LOGIN, "anna@example.com", "10.0.0.1"));
+    }
+}
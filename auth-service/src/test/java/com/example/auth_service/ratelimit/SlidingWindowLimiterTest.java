@@ -0,0 +1,121 @@
+package com.example.auth_service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void allowsUpToTheLimitWithinAWindow() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, 1000, 100, 4, clock::get);
+
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void previousWindowIsWeightedByOverlap() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(4, 1000, 100, 4, clock::get);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("a"));
+        }
+
+        // Half of the previous window still overlaps: 4 * 0.5 = 2 counted, 2 left
+        clock.addAndGet(1500);
+        assertTrue(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+
+        clock.addAndGet(2000);
+        assertTrue(limiter.tryAcquire("a"));
+    }
+
+    @Test
+    void newKeysAtAFullStripeAreLetThroughUntracked() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(2, 1000, 1, 1, clock::get);
+
+        assertTrue(limiter.tryAcquire("tracked"));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire("flood-" + i));
+        }
+        assertTrue(limiter.tryAcquire("legitimate"));
+        assertEquals(11, limiter.untrackedCount());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void newKeyAtAFullStripeReplacesAnIdleOne() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(1, 1000, 1, 1, clock::get);
+        assertTrue(limiter.tryAcquire("old"));
+
+        clock.addAndGet(2000);
+        assertTrue(limiter.tryAcquire("new"));
+        assertFalse(limiter.tryAcquire("new"));
+        assertEquals(0, limiter.untrackedCount());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void hasCapacityRecordsNothing() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(1, 1000, 100, 4, clock::get);
+
+        assertTrue(limiter.hasCapacity("a"));
+        assertTrue(limiter.hasCapacity("a"));
+        assertEquals(0, limiter.size());
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.hasCapacity("a"));
+    }
+
+    @Test
+    void idleKeysAreEvicted() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(2, 1000, 100, 4, clock::get);
+        limiter.tryAcquire("a");
+        clock.addAndGet(1000);
+        limiter.tryAcquire("b");
+
+        assertEquals(0, limiter.evictIdle());
+        clock.addAndGet(1000);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheLimit() throws InterruptedException {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(500, 60_000, 100, 4, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        for (int i = 0; i < 2000; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (limiter.tryAcquire("shared")) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(500, allowed.get());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.auth_service.scheduler;
+
+import com.example.auth_service.entity.EmailOutbox;
+import com.example.auth_service.entity.EmailOutboxStatus;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.EmailOutboxRepository;
+import com.example.auth_service.service.EmailService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final User user = User.builder()
+            .email("outbox@example.com")
+            .firstName("Outbox")
+            .lastName("Test")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliversQueuedEmailsInOneBatch() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendVerificationEmail(user, "verify-token");
+            emailService.sendPasswordResetEmail(user, "reset-token");
+        });
+
+        assertEquals(2, emailOutboxDispatcher.dispatchBatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("outbox@example.com", received[0].getAllRecipients()[0].toString());
+        assertTrue(emailOutboxRepository.findAll().stream()
+                .allMatch(email -> email.getStatus() == EmailOutboxStatus.SENT && email.getSentAt() != null));
+        assertEquals(0, emailOutboxDispatcher.dispatchBatch());
+    }
+
+    @Test
+    void rolledBackTransactionLeavesNothingToSend() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendPasswordResetConfirmationEmail(user);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, emailOutboxRepository.count());
+    }
+
+    @Test
+    void failedDeliveryIsRetriedThenMarkedDead() {
+        greenMail.stop();
+        transactionTemplate.executeWithoutResult(status -> emailService.sendVerificationEmail(user, "verify-token"));
+
+        assertEquals(1, emailOutboxDispatcher.dispatchBatch());
+        EmailOutbox retried = single();
+        assertEquals(EmailOutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertNotNull(retried.getLastError());
+
+        // test profile: max-attempts 2, no backoff
+        assertEquals(1, emailOutboxDispatcher.dispatchBatch());
+        EmailOutbox dead = single();
+        assertEquals(EmailOutboxStatus.DEAD, dead.getStatus());
+        assertEquals(2, dead.getAttempts());
+        assertEquals(0, emailOutboxDispatcher.dispatchBatch());
+    }
+
+    private EmailOutbox single() {
+        List<EmailOutbox> all = emailOutboxRepository.findAll();
+        assertEquals(1, all.size());
+        return all.get(0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.auth_service.scheduler;
+
+import com.example.auth_service.support.PostgresTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JobLockPostgresTest extends PostgresTestSupport {
+
+    @Autowired
+    private JobLock jobLock;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void advisoryLockIsExclusiveAndReleasedOnClose() {
+        JobLock.Lease lease = jobLock.tryAcquire("pg-job-lock-test").orElseThrow();
+        assertEquals(1, heldAdvisoryLocks());
+        assertTrue(jobLock.tryAcquire("pg-job-lock-test").isEmpty());
+
+        CompletableFuture.runAsync(lease::close).join();
+
+        assertEquals(0, heldAdvisoryLocks());
+        Optional<JobLock.Lease> next = jobLock.tryAcquire("pg-job-lock-test");
+        assertTrue(next.isPresent());
+        next.get().close();
+    }
+
+    /**
+     * A bigint advisory key shows up in pg_locks split into classid (high) and objid (low).
+     */
+    private int heldAdvisoryLocks() {
+        long key = "pg-job-lock-test".hashCode();
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_locks
+                WHERE locktype = 'advisory' AND granted AND objsubid = 1
+                  AND classid = CAST(? AS oid) AND objid = CAST(? AS oid)
+                """, Integer.class, key >>> 32, key & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.auth_service.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JobLockTest {
+
+    @Autowired
+    private JobLock jobLock;
+
+    @Test
+    void onlyOneHolderAtATime() {
+        Optional<JobLock.Lease> first = jobLock.tryAcquire("job-lock-test");
+        assertTrue(first.isPresent());
+
+        // A different thread stands in for another replica
+        assertTrue(CompletableFuture.supplyAsync(() -> jobLock.tryAcquire("job-lock-test")).join().isEmpty());
+
+        first.get().close();
+        Optional<JobLock.Lease> second = CompletableFuture.supplyAsync(() -> jobLock.tryAcquire("job-lock-test")).join();
+        assertTrue(second.isPresent());
+        second.get().close();
+    }
+
+    @Test
+    void leaseCanBeClosedFromAnotherThread() {
+        JobLock.Lease lease = jobLock.tryAcquire("job-lock-handoff").orElseThrow();
+
+        CompletableFuture.runAsync(lease::close).join();
+
+        Optional<JobLock.Lease> next = jobLock.tryAcquire("job-lock-handoff");
+        assertTrue(next.isPresent());
+        next.get().close();
+    }
+
+    @Test
+    void closingTwiceReleasesOnce() {
+        JobLock.Lease lease = jobLock.tryAcquire("job-lock-double-close").orElseThrow();
+        lease.close();
+        JobLock.Lease holder = jobLock.tryAcquire("job-lock-double-close").orElseThrow();
+
+        lease.close();
+
+        assertTrue(jobLock.tryAcquire("job-lock-double-close").isEmpty());
+        holder.close();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.auth_service.scheduler;
+
+import com.example.auth_service.config.TokenProperties;
+import com.example.auth_service.entity.RefreshToken;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.RefreshTokenRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.TokenDigest;
+import com.example.auth_service.support.PostgresTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The partitioned path of {@link TokenPartitionManager} and the V3/V7 migrations, on a real
+ * PostgreSQL. {@link TokenPartitionManagerTest} covers the H2 fallback.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenPartitionManagerPostgresTest extends PostgresTestSupport {
+
+    @Autowired
+    private TokenPartitionManager tokenPartitionManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenProperties tokenProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("pg-partition-" + UUID.randomUUID() + "@example.com")
+                .firstName("Partition")
+                .lastName("Postgres")
+                .build());
+    }
+
+    @Test
+    void createsDailyPartitionsAhead() {
+        tokenPartitionManager.createUpcomingPartitions();
+
+        LocalDate lastDay = LocalDate.now(zone).plusDays(tokenProperties.getPartitions().getDaysAhead());
+        assertTrue(tableExists(partitionName("refresh_tokens", lastDay)));
+        assertTrue(tableExists(partitionName("verification_tokens", lastDay)));
+    }
+
+    @Test
+    void lookupsWorkAcrossADayBoundary() {
+        tokenPartitionManager.createUpcomingPartitions();
+        LocalDate tomorrow = LocalDate.now(zone).plusDays(1);
+        Instant startOfDayAfter = tomorrow.plusDays(1).atStartOfDay(zone).toInstant();
+        Instant endOfTomorrow = startOfDayAfter.minusSeconds(1);
+        String lastSecond = save(endOfTomorrow);
+        String firstSecond = save(startOfDayAfter);
+
+        assertEquals(partitionName("refresh_tokens", tomorrow), partitionOf(lastSecond));
+        assertEquals(partitionName("refresh_tokens", tomorrow.plusDays(1)), partitionOf(firstSecond));
+
+        assertTrue(refreshTokenRepository.findByTokenHashAndExpiresAt(
+                TokenDigest.sha256(lastSecond), endOfTomorrow).isPresent());
+        assertTrue(refreshTokenRepository.findByTokenHashAndExpiresAt(
+                TokenDigest.sha256(firstSecond), startOfDayAfter).isPresent());
+        assertTrue(refreshTokenRepository.findByTokenHashAndExpiresAt(
+                TokenDigest.sha256(lastSecond), startOfDayAfter).isEmpty());
+        assertTrue(refreshTokenRepository.findByTokenHash(TokenDigest.sha256(firstSecond)).isPresent());
+    }
+
+    @Test
+    void newPartitionTakesOverRowsAlreadyInTheDefault() {
+        LocalDate farDay = LocalDate.now(zone).plusDays(90);
+        Instant expiresAt = farDay.atTime(12, 0).atZone(zone).toInstant();
+        String token = save(expiresAt);
+        assertEquals("refresh_tokens_default", partitionOf(token));
+
+        jdbcTemplate.queryForList("SELECT create_token_partition(?, ?)", "refresh_tokens", Date.valueOf(farDay));
+
+        assertEquals(partitionName("refresh_tokens", farDay), partitionOf(token));
+        assertTrue(refreshTokenRepository.findByTokenHashAndExpiresAt(TokenDigest.sha256(token), expiresAt).isPresent());
+        assertTrue(isAttached("refresh_tokens_default"), "default partition must be reattached");
+    }
+
+    @Test
+    void removeExpiredDropsDaysPastRetention() {
+        LocalDate oldDay = LocalDate.now(zone).minusDays(tokenProperties.getPartitions().getRetentionDays() + 2L);
+        jdbcTemplate.queryForList("SELECT create_token_partition(?, ?)", "refresh_tokens", Date.valueOf(oldDay));
+        String token = save(oldDay.atTime(12, 0).atZone(zone).toInstant());
+        assertEquals(partitionName("refresh_tokens", oldDay), partitionOf(token));
+
+        Instant now = Instant.now();
+        assertFalse(tokenPartitionManager.removeExpired(now, now.plusSeconds(60)).budgetExhausted());
+
+        assertFalse(tableExists(partitionName("refresh_tokens", oldDay)));
+        assertTrue(refreshTokenRepository.findByTokenHash(TokenDigest.sha256(token)).isEmpty());
+    }
+
+    private String save(Instant expiresAt) {
+        String token = "pg-token-" + UUID.randomUUID();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(TokenDigest.sha256(token))
+                .expiresAt(expiresAt)
+                .build());
+        return token;
+    }
+
+    private String partitionOf(String token) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM refresh_tokens WHERE token_hash = ?",
+                String.class, (Object) TokenDigest.sha256(token));
+    }
+
+    private boolean tableExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private boolean isAttached(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?))", Boolean.class, partition));
+    }
+
+    private static String partitionName(String table, LocalDate day) {
+        return table + "_p" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
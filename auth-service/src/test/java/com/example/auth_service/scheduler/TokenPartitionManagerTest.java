@@ -0,0 +1,105 @@
+package com.example.auth_service.scheduler;
+
+import com.example.auth_service.entity.RefreshToken;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.RefreshTokenRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.TokenDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"token.cleanup.batch-size=2", "token.cleanup.batch-pause=0"})
+@ActiveProfiles("test")
+class TokenPartitionManagerTest {
+
+    @Autowired
+    private TokenPartitionManager tokenPartitionManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Instant endOfTomorrow;
+    private Instant startOfDayAfter;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        user = userRepository.save(User.builder()
+                .email("partition-" + UUID.randomUUID() + "@example.com")
+                .firstName("Partition")
+                .lastName("Test")
+                .build());
+
+        ZoneId zone = ZoneId.systemDefault();
+        startOfDayAfter = LocalDate.now(zone).plusDays(2).atStartOfDay(zone).toInstant();
+        endOfTomorrow = startOfDayAfter.minusSeconds(1);
+    }
+
+    @Test
+    void lookupsWorkOnBothSidesOfADayBoundary() {
+        save("last-second-of-tomorrow", endOfTomorrow);
+        save("first-second-of-day-after", startOfDayAfter);
+
+        assertTrue(refreshTokenRepository.findByTokenHashAndExpiresAt(
+                TokenDigest.sha256("last-second-of-tomorrow"), endOfTomorrow).isPresent());
+        assertTrue(refreshTokenRepository.findByTokenHashAndExpiresAt(
+                TokenDigest.sha256("first-second-of-day-after"), startOfDayAfter).isPresent());
+
+        assertTrue(refreshTokenRepository.findByTokenHashAndExpiresAt(
+                TokenDigest.sha256("last-second-of-tomorrow"), startOfDayAfter).isEmpty());
+        assertTrue(refreshTokenRepository.findByTokenHash(
+                TokenDigest.sha256("first-second-of-day-after")).isPresent());
+    }
+
+    @Test
+    void removeExpiredDeletesOnlyExpiredTokensInChunks() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            save("expired-" + i, now.minusSeconds(60 + i));
+        }
+        save("still-valid", endOfTomorrow);
+
+        TokenPartitionManager.CleanupResult result = tokenPartitionManager.removeExpired(now, now.plusSeconds(60));
+
+        assertEquals(5, result.rowsDeleted());
+        assertFalse(result.budgetExhausted());
+        assertEquals(1, refreshTokenRepository.count());
+        assertTrue(refreshTokenRepository.findByTokenHash(TokenDigest.sha256("still-valid")).isPresent());
+    }
+
+    @Test
+    void removeExpiredStopsAtTheTimeBudget() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 6; i++) {
+            save("expired-" + i, now.minusSeconds(60 + i));
+        }
+
+        TokenPartitionManager.CleanupResult result = tokenPartitionManager.removeExpired(now, now.minusSeconds(1));
+
+        assertTrue(result.budgetExhausted());
+        assertEquals(2, result.rowsDeleted());
+        assertEquals(4, refreshTokenRepository.count());
+    }
+
+    private void save(String token, Instant expiresAt) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(TokenDigest.sha256(token))
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
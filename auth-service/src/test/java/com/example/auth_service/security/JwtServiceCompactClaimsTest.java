@@ -0,0 +1,79 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.JwtProperties;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceCompactClaimsTest {
+
+    private static final String SECRET = "test-secret-key-for-unit-testing-purposes-only-minimum-256-bits";
+
+    private final User user = User.builder()
+            .id(UUID.randomUUID())
+            .email("jane.doe@example.com")
+            .firstName("Jane")
+            .lastName("Doe")
+            .roles(Set.of(Role.builder().name(Role.USER).build(),
+                    Role.builder().name(Role.ADMIN).build(),
+                    Role.builder().name("AUDITOR").build()))
+            .build();
+
+    @Test
+    void compactTokenCarriesRolesAsBitmask() {
+        JwtService jwtService = new JwtService(properties(true));
+        String token = jwtService.generateAccessToken(user);
+
+        Claims claims = jwtService.parseToken(token);
+        assertEquals(0b110, claims.get(CompactClaims.ROLES, Integer.class));
+        assertNull(claims.get("email"));
+        assertNull(claims.get("roles"));
+        assertNull(claims.getIssuer());
+
+        ParsedToken parsed = jwtService.parse(token).orElseThrow();
+        assertTrue(parsed.isAccess());
+        assertEquals(user.getId(), parsed.subject());
+        assertEquals(Set.of(Role.USER, Role.ADMIN, "AUDITOR"), parsed.roles());
+    }
+
+    @Test
+    void roleBitPositionsMatchTheGateway() {
+        // gateway-service JwtUtilTest decodes the same positions
+        assertEquals(0b001, CompactClaims.roleMask(List.of(Role.SUPER_ADMIN)));
+        assertEquals(0b010, CompactClaims.roleMask(List.of(Role.ADMIN)));
+        assertEquals(0b100, CompactClaims.roleMask(List.of(Role.USER)));
+    }
+
+    @Test
+    void compactTokenIsSmaller() {
+        String full = new JwtService(properties(false)).generateAccessToken(user);
+        String compact = new JwtService(properties(true)).generateAccessToken(user);
+
+        assertTrue(compact.length() < full.length(), compact.length() + " >= " + full.length());
+    }
+
+    @Test
+    void fullTokensStillParseWhenCompactIsOn() {
+        String full = new JwtService(properties(false)).generateAccessToken(user);
+
+        ParsedToken parsed = new JwtService(properties(true)).parse(full).orElseThrow();
+        assertEquals(Set.of(Role.USER, Role.ADMIN, "AUDITOR"), parsed.roles());
+    }
+
+    private static JwtProperties properties(boolean compact) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiry(900_000L);
+        properties.setRefreshTokenExpiry(604_800_000L);
+        properties.setIssuer("taskflow-auth-service-test");
+        properties.setCompactClaims(compact);
+        return properties;
+    }
+}
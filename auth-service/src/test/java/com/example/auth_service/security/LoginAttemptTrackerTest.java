@@ -0,0 +1,153 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Flushes are triggered by the tests only
+@SpringBootTest(properties = "security.login.flush-interval=3600000")
+@ActiveProfiles("test")
+class LoginAttemptTrackerTest {
+
+    // security.login.max-attempts in application-test.yaml
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("attempts-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("unused")
+                .firstName("Attempt")
+                .lastName("Test")
+                .failedLoginAttempts(2)
+                .build());
+    }
+
+    @Test
+    void locksAtTheThresholdAndPersistsTheLockout() {
+        for (int i = 0; i < MAX_ATTEMPTS - 3; i++) {
+            loginAttemptTracker.recordFailure(user);
+        }
+        assertFalse(loginAttemptTracker.isLocked(user.getId()));
+        assertFalse(stored().isAccountLocked());
+
+        loginAttemptTracker.recordFailure(user);
+
+        assertTrue(loginAttemptTracker.isLocked(user.getId()));
+        User locked = stored();
+        assertTrue(locked.isAccountLocked(), "lockout must be persisted before flush");
+        assertEquals(MAX_ATTEMPTS, locked.getFailedLoginAttempts());
+    }
+
+    @Test
+    void flushAddsPendingFailuresOnce() {
+        loginAttemptTracker.recordFailure(user);
+        loginAttemptTracker.recordFailure(user);
+        assertEquals(2, stored().getFailedLoginAttempts(), "counts are written behind");
+
+        loginAttemptTracker.flush();
+        assertEquals(4, stored().getFailedLoginAttempts());
+
+        loginAttemptTracker.flush();
+        assertEquals(4, stored().getFailedLoginAttempts());
+    }
+
+    @Test
+    void flushDoesNotUndoAResetFromAnotherReplica() {
+        loginAttemptTracker.recordFailure(user);
+        loginAttemptTracker.flush();
+        resetElsewhere();
+
+        loginAttemptTracker.recordFailure(user);
+        loginAttemptTracker.flush();
+
+        assertEquals(1, stored().getFailedLoginAttempts());
+    }
+
+    @Test
+    void staleLocalCountDoesNotLockAfterAResetElsewhere() {
+        loginAttemptTracker.recordFailure(user);
+        loginAttemptTracker.recordFailure(user);
+        loginAttemptTracker.flush();
+        resetElsewhere();
+
+        // The local estimate reaches the threshold, the stored count (1) does not
+        loginAttemptTracker.recordFailure(user);
+
+        assertFalse(loginAttemptTracker.isLocked(user.getId()));
+        User stored = stored();
+        assertFalse(stored.isAccountLocked());
+        assertEquals(1, stored.getFailedLoginAttempts());
+    }
+
+    @Test
+    void successDiscardsPendingFailures() {
+        loginAttemptTracker.recordFailure(user);
+        loginAttemptTracker.recordSuccess(user.getId());
+        resetElsewhere();
+
+        loginAttemptTracker.flush();
+
+        assertEquals(0, stored().getFailedLoginAttempts());
+        assertFalse(loginAttemptTracker.isLocked(user.getId()));
+    }
+
+    @Test
+    void concurrentFailuresLockOnceAndFlushTheFinalCount() throws InterruptedException {
+        int attempts = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < attempts; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                loginAttemptTracker.recordFailure(user);
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertTrue(stored().isAccountLocked(), "lockout must be persisted before flush");
+        assertTrue(loginAttemptTracker.isLocked(user.getId()));
+
+        loginAttemptTracker.flush();
+        assertEquals(2 + attempts, stored().getFailedLoginAttempts());
+    }
+
+    private void resetElsewhere() {
+        transactionTemplate.executeWithoutResult(status -> userRepository.resetLoginAttempts(user.getId()));
+    }
+
+    private User stored() {
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.SecurityProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashCalibratorTest {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+
+    @Test
+    void pickCostTakesHighestCostWithinTarget() {
+        assertEquals(2, PasswordHashCalibrator.pickCost(1, 10, 50, sleepingEncoder(20)));
+    }
+
+    @Test
+    void pickCostNeverGoesBelowFloor() {
+        assertEquals(4, PasswordHashCalibrator.pickCost(4, 10, 50, sleepingEncoder(20)));
+    }
+
+    @Test
+    void pickCostStopsAtMax() {
+        assertEquals(3, PasswordHashCalibrator.pickCost(1, 3, 10_000, sleepingEncoder(1)));
+    }
+
+    @Test
+    void bcryptCalibrationKeepsFloorOfTwelve() {
+        SecurityProperties.Password properties = new SecurityProperties.Password();
+        properties.setTargetHashLatency(1L);  // below what cost 12 takes anywhere
+
+        PasswordHashCalibrator.Calibration calibration = PasswordHashCalibrator.calibrate(properties);
+
+        assertEquals(PasswordHashCalibrator.BCRYPT, calibration.algorithm());
+        assertEquals(12, calibration.cost());
+        assertTrue(calibration.encoder().encode(PASSWORD).startsWith("{bcrypt}$2a$12$"));
+    }
+
+    @Test
+    void argon2idEncodesWithPrefixAndUpgradesBcryptHashes() {
+        SecurityProperties.Password properties = new SecurityProperties.Password();
+        properties.setAlgorithm("argon2id");
+        properties.setTargetHashLatency(0L);
+
+        PasswordHashCalibrator.Calibration calibration = PasswordHashCalibrator.calibrate(properties);
+        PasswordEncoder encoder = calibration.encoder();
+        String argon2 = encoder.encode(PASSWORD);
+        String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        assertEquals(PasswordHashCalibrator.ARGON2, calibration.algorithm());
+        assertEquals(2, calibration.cost());
+        assertTrue(argon2.startsWith("{argon2}$argon2id$"));
+        assertEquals(PasswordHashCalibrator.ARGON2, PasswordHashCalibrator.algorithmOf(argon2));
+        assertTrue(encoder.matches(PASSWORD, argon2));
+        assertFalse(encoder.upgradeEncoding(argon2));
+        assertTrue(encoder.matches(PASSWORD, bcrypt));
+        assertTrue(encoder.upgradeEncoding(bcrypt));
+        assertTrue(encoder.matches(PASSWORD, legacy), "unprefixed hashes are read as bcrypt");
+    }
+
+    @Test
+    void weakerBcryptCostNeedsUpgrade() {
+        SecurityProperties.Password properties = new SecurityProperties.Password();
+        properties.setBcryptStrength(5);
+        properties.setTargetHashLatency(0L);
+
+        PasswordEncoder encoder = PasswordHashCalibrator.calibrate(properties).encoder();
+
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD)));
+        assertFalse(encoder.upgradeEncoding(encoder.encode(PASSWORD)));
+    }
+
+    /**
+     * Encoder for cost {@code c} that takes {@code c * stepMs} per hash.
+     */
+    private static IntFunction<PasswordEncoder> sleepingEncoder(long stepMs) {
+        return cost -> new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    Thread.sleep(cost * stepMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "cost-" + cost;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
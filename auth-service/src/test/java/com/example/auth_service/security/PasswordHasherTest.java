@@ -0,0 +1,95 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.SecurityProperties;
+import com.example.auth_service.exception.HashingCapacityExceededException;
+import com.example.auth_service.support.GatedPasswordEncoder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final GatedPasswordEncoder encoder = new GatedPasswordEncoder(bcrypt);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getHashing().setThreads(1);
+        properties.getHashing().setQueueCapacity(1);
+        properties.getHashing().setContinuationThreads(1);
+        passwordHasher = new PasswordHasher(encoder,
+                new PasswordHashCalibrator.Calibration(encoder, PasswordHashCalibrator.BCRYPT, 4),
+                properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.open();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void fullQueueFailsFastWith503AndRecordsMeters() throws Exception {
+        String hash = bcrypt.encode(PASSWORD);
+        encoder.close();
+
+        CompletableFuture<Boolean> running = passwordHasher.matches(PASSWORD, hash);
+        assertTrue(encoder.awaitEntered(1));
+        CompletableFuture<Boolean> queued = passwordHasher.matches(PASSWORD, hash);
+        CompletableFuture<Boolean> rejected = passwordHasher.matches(PASSWORD, hash);
+
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+        HashingCapacityExceededException busy =
+                assertInstanceOf(HashingCapacityExceededException.class, failure.getCause());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, busy.getStatus());
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("password.hash.queue.size").gauge().value());
+        assertFalse(running.isDone());
+        assertFalse(queued.isDone());
+
+        encoder.open();
+
+        assertTrue(running.get(10, TimeUnit.SECONDS));
+        assertTrue(queued.get(10, TimeUnit.SECONDS));
+        Timer queueWait = timer("password.hash.queue.wait");
+        Timer duration = timer("password.hash.duration");
+        assertEquals(2, queueWait.count());
+        assertEquals(2, duration.count());
+        assertTrue(queueWait.max(TimeUnit.NANOSECONDS) > 0, "the queued hash must have waited");
+        assertEquals(0.0, meterRegistry.get("password.hash.queue.size").gauge().value());
+    }
+
+    @Test
+    void callbacksRunOnTheContinuationPool() throws Exception {
+        encoder.close();
+        CompletableFuture<String> completedOn = passwordHasher.encode(PASSWORD)
+                .thenApply(hash -> Thread.currentThread().getName());
+        assertTrue(encoder.awaitEntered(1));
+
+        encoder.open();
+
+        assertTrue(completedOn.get(10, TimeUnit.SECONDS).startsWith("password-hash-callback-"));
+    }
+
+    private Timer timer(String name) {
+        return meterRegistry.get(name)
+                .tag("operation", "matches")
+                .tag("algorithm", PasswordHashCalibrator.BCRYPT)
+                .timer();
+    }
+}
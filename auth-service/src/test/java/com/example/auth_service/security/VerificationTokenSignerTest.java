@@ -0,0 +1,62 @@
+package com.example.auth_service.security;
+
+import com.example.auth_service.config.JwtProperties;
+import com.example.auth_service.config.TokenProperties;
+import com.example.auth_service.entity.TokenType;
+import com.example.auth_service.exception.InvalidTokenException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificationTokenSignerTest {
+
+    private static final String JWT_SECRET = "test-secret-key-for-unit-testing-purposes-only-minimum-256-bits";
+
+    @Test
+    void signedModeRequiresSigningSecret() {
+        assertThrows(IllegalStateException.class, () -> signer("signed", null));
+        assertThrows(IllegalStateException.class, () -> signer("signed", ""));
+    }
+
+    @Test
+    void signingSecretMustDifferFromJwtSecret() {
+        assertThrows(IllegalStateException.class, () -> signer("signed", JWT_SECRET));
+        assertThrows(IllegalStateException.class, () -> signer("stored", JWT_SECRET));
+    }
+
+    @Test
+    void storedModeWithoutSecretRejectsSignedLinks() {
+        VerificationTokenSigner withSecret = signer("signed", "a-separate-verification-token-secret");
+        String token = withSecret.sign(UUID.randomUUID(), TokenType.PASSWORD_RESET,
+                Instant.now().plusSeconds(60), 0);
+
+        VerificationTokenSigner stored = signer("stored", null);
+
+        assertFalse(stored.isEnabled());
+        assertThrows(InvalidTokenException.class, () -> stored.verify(token, TokenType.PASSWORD_RESET));
+    }
+
+    @Test
+    void separateSecretSignsAndVerifies() {
+        VerificationTokenSigner signer = signer("signed", "a-separate-verification-token-secret");
+        UUID userId = UUID.randomUUID();
+        String token = signer.sign(userId, TokenType.EMAIL_VERIFICATION, Instant.now().plusSeconds(60), 3);
+
+        VerificationTokenSigner.SignedToken signed = signer.verify(token, TokenType.EMAIL_VERIFICATION);
+
+        assertEquals(userId, signed.userId());
+        assertEquals(3, signed.nonce());
+    }
+
+    private static VerificationTokenSigner signer(String mode, String signingSecret) {
+        TokenProperties tokenProperties = new TokenProperties();
+        tokenProperties.setVerificationMode(mode);
+        tokenProperties.setSigningSecret(signingSecret);
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(JWT_SECRET);
+        return new VerificationTokenSigner(tokenProperties, jwtProperties);
+    }
+}
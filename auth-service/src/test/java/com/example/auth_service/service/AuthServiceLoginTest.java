@@ -0,0 +1,115 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.LoginRequest;
+import com.example.auth_service.dto.request.RefreshTokenRequest;
+import com.example.auth_service.dto.response.AuthResponse;
+import com.example.auth_service.dto.response.TokenResponse;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.exception.InvalidTokenException;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.LoginAttemptTracker;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AuthServiceLoginTest {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+
+        email = "login-" + UUID.randomUUID() + "@example.com";
+        User user = User.builder()
+                .email(email)
+                .passwordHash(passwordEncoder.encode(PASSWORD))
+                .firstName("Login")
+                .lastName("Test")
+                .failedLoginAttempts(2)
+                .build();
+        user.getRoles().add(userRole);
+        userRepository.save(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void login_UsesOneSelectOneUpdateAndOneInsert() {
+        AuthResponse response = authService.login(login(PASSWORD)).join();
+
+        assertNotNull(response.getAccessToken());
+        assertEquals(3, statistics.getPrepareStatementCount(),
+                "expected user lookup, login update and refresh-token insert only");
+
+        User reloaded = userRepository.findByEmail(email).orElseThrow();
+        assertEquals(0, reloaded.getFailedLoginAttempts());
+        assertNotNull(reloaded.getLastLoginAt());
+    }
+
+    @Test
+    void login_WrongPasswordRecordsFailedAttempt() {
+        assertThrows(Exception.class, () -> authService.login(login("wrong-password")).join());
+        loginAttemptTracker.flush();
+
+        User reloaded = userRepository.findByEmail(email).orElseThrow();
+        assertEquals(3, reloaded.getFailedLoginAttempts());
+    }
+
+    @Test
+    void refresh_RevokesTheRotatedToken() {
+        String refreshToken = authService.login(login(PASSWORD)).join().getRefreshToken();
+
+        TokenResponse rotated = authService.refresh(new RefreshTokenRequest(refreshToken));
+
+        assertNotNull(rotated.getRefreshToken());
+        InvalidTokenException reused = assertThrows(InvalidTokenException.class,
+                () -> authService.refresh(new RefreshTokenRequest(refreshToken)));
+        assertEquals(InvalidTokenException.revoked().getMessage(), reused.getMessage());
+        assertNotNull(authService.refresh(new RefreshTokenRequest(rotated.getRefreshToken())).getAccessToken());
+    }
+
+    private LoginRequest login(String password) {
+        return LoginRequest.builder()
+                .email(email)
+                .password(password)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.LoginRequest;
+import com.example.auth_service.dto.response.AuthResponse;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.RefreshTokenRepository;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.TokenDigest;
+import com.example.auth_service.support.PostgresTestSupport;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AuthServicePostgresLoginTest extends PostgresTestSupport {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        email = "pg-login-" + UUID.randomUUID() + "@example.com";
+        User user = User.builder()
+                .email(email)
+                .passwordHash(passwordEncoder.encode(PASSWORD))
+                .firstName("Login")
+                .lastName("Postgres")
+                .failedLoginAttempts(2)
+                .build();
+        user.getRoles().add(roleRepository.findByName(Role.USER).orElseThrow());
+        userRepository.save(user);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void login_RecordsSideEffectsInOneStatement() {
+        AuthResponse response = authService.login(LoginRequest.builder()
+                .email(email)
+                .password(PASSWORD)
+                .build()).join();
+
+        assertEquals(2, statistics.getPrepareStatementCount(),
+                "expected the user lookup and one combined update-and-insert");
+
+        User reloaded = userRepository.findByEmail(email).orElseThrow();
+        assertEquals(0, reloaded.getFailedLoginAttempts());
+        assertNotNull(reloaded.getLastLoginAt());
+        assertTrue(refreshTokenRepository.findByTokenHash(TokenDigest.sha256(response.getRefreshToken())).isPresent());
+    }
+}
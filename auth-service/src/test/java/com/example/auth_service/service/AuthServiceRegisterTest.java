@@ -0,0 +1,112 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.RegisterRequest;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Registration must not touch the other members of the USER role: its statement count
+ * and entity loads stay the same whether the role has a handful of users or thousands.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AuthServiceRegisterTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Role userRole;
+
+    @BeforeEach
+    void setUp() {
+        userRole = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+        roleRegistry.findByName(Role.USER);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * The in-memory database is shared by every cached test context, so the ~21k rows seeded
+     * here must not leak into other classes' counts and pages.
+     */
+    @AfterEach
+    void tearDown() {
+        String testUsers = "SELECT id FROM users WHERE email LIKE 'seed-%@example.com' OR email LIKE 'register-%@example.com'";
+        jdbcTemplate.update("DELETE FROM verification_tokens WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'seed-%@example.com' OR email LIKE 'register-%@example.com'");
+    }
+
+    @Test
+    void register_CostDoesNotGrowWithRoleMembership() {
+        seedUsers(1_000);
+        long smallRoleStatements = registerAndCountStatements();
+        long smallRoleLoads = statistics.getEntityLoadCount();
+
+        seedUsers(20_000);
+        long largeRoleStatements = registerAndCountStatements();
+
+        assertEquals(smallRoleStatements, largeRoleStatements);
+        assertEquals(smallRoleLoads, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount(), "Role.users must not be initialized");
+    }
+
+    private long registerAndCountStatements() {
+        statistics.clear();
+        authService.register(RegisterRequest.builder()
+                .email("register-" + UUID.randomUUID() + "@example.com")
+                .password("Sup3rSecret!")
+                .firstName("Register")
+                .lastName("Test")
+                .build()).join();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedUsers(int count) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> users = new ArrayList<>(count);
+        List<Object[]> memberships = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            users.add(new Object[]{id, "seed-" + id + "@example.com", "Seed", "User", now, now});
+            memberships.add(new Object[]{id, userRole.getId()});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO users (id, email, first_name, last_name, email_verified, is_active,
+                                   failed_login_attempts, created_at, updated_at)
+                VALUES (?, ?, ?, ?, FALSE, TRUE, 0, ?, ?)
+                """, users);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", memberships);
+    }
+}
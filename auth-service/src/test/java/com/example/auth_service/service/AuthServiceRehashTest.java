@@ -0,0 +1,113 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.LoginRequest;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A login with a hash weaker than the configured cost re-encodes it in the background; the
+ * replacement only lands while the verified hash is still the stored one.
+ */
+@SpringBootTest(properties = "security.password.bcrypt-strength=5")
+@ActiveProfiles("test")
+class AuthServiceRehashTest {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private String weakHash;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+
+        weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        user = User.builder()
+                .email("rehash-" + UUID.randomUUID() + "@example.com")
+                .passwordHash(weakHash)
+                .firstName("Rehash")
+                .lastName("Test")
+                .build();
+        user.getRoles().add(userRole);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        String testUsers = "SELECT id FROM users WHERE email LIKE 'rehash-%@example.com'";
+        jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'rehash-%@example.com'");
+    }
+
+    @Test
+    void loginUpgradesWeakHashInBackground() throws InterruptedException {
+        assertTrue(passwordEncoder.upgradeEncoding(weakHash));
+
+        authService.login(new LoginRequest(user.getEmail(), PASSWORD)).join();
+
+        String stored = awaitHashChange();
+        assertTrue(stored.startsWith("{bcrypt}$2a$05$"), stored);
+        assertTrue(passwordEncoder.matches(PASSWORD, stored));
+        assertFalse(passwordEncoder.upgradeEncoding(stored));
+    }
+
+    @Test
+    void replacementIsSkippedWhenHashChangedMeanwhile() {
+        String changed = passwordEncoder.encode("Ch4nged!Pass");
+        transactionTemplate.executeWithoutResult(status -> userRepository.updatePassword(user.getId(), changed));
+
+        Integer replaced = transactionTemplate.execute(
+                status -> userRepository.replacePasswordHash(user.getId(), weakHash, passwordEncoder.encode(PASSWORD)));
+
+        assertEquals(0, replaced);
+        assertEquals(changed, userRepository.findById(user.getId()).orElseThrow().getPasswordHash());
+    }
+
+    private String awaitHashChange() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            String stored = userRepository.findById(user.getId()).orElseThrow().getPasswordHash();
+            if (!stored.equals(weakHash)) {
+                return stored;
+            }
+            Thread.sleep(20);
+        }
+        return fail("password hash was not upgraded");
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.ForgotPasswordRequest;
+import com.example.auth_service.dto.request.RegisterRequest;
+import com.example.auth_service.dto.request.ResetPasswordRequest;
+import com.example.auth_service.dto.request.VerifyEmailRequest;
+import com.example.auth_service.dto.response.RegisterResponse;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.TokenType;
+import com.example.auth_service.exception.InvalidTokenException;
+import com.example.auth_service.repository.EmailOutboxRepository;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.repository.VerificationTokenRepository;
+import com.example.auth_service.security.VerificationTokenSigner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "token.verification-mode=signed")
+@ActiveProfiles("test")
+class AuthServiceSignedTokenTest {
+
+    private static final Pattern RESET_TOKEN = Pattern.compile("reset-password\\?token=([A-Za-z0-9_.-]+)");
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private VerificationTokenSigner verificationTokenSigner;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private VerificationTokenRepository verificationTokenRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private RegisterResponse user;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+        emailOutboxRepository.deleteAll();
+
+        long tokensBefore = verificationTokenRepository.count();
+        user = authService.register(RegisterRequest.builder()
+                .email("signed-" + UUID.randomUUID() + "@example.com")
+                .password("Sup3rSecret!")
+                .firstName("Signed")
+                .lastName("Token")
+                .build()).join();
+        assertEquals(tokensBefore, verificationTokenRepository.count(), "registration must not store a token");
+    }
+
+    @Test
+    void verificationTokenWorksOnce() {
+        String token = verificationTokenSigner.sign(user.getId(), TokenType.EMAIL_VERIFICATION,
+                Instant.now().plusSeconds(3600), 0);
+
+        authService.verifyEmail(new VerifyEmailRequest(token));
+
+        assertTrue(userRepository.findById(user.getId()).orElseThrow().getEmailVerified());
+        InvalidTokenException reused = assertThrows(InvalidTokenException.class,
+                () -> authService.verifyEmail(new VerifyEmailRequest(token)));
+        assertEquals(InvalidTokenException.alreadyUsed().getMessage(), reused.getMessage());
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndMistypedTokens() {
+        String token = verificationTokenSigner.sign(user.getId(), TokenType.EMAIL_VERIFICATION,
+                Instant.now().plusSeconds(3600), 0);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String expired = verificationTokenSigner.sign(user.getId(), TokenType.EMAIL_VERIFICATION,
+                Instant.now().minusSeconds(1), 0);
+        String reset = verificationTokenSigner.sign(user.getId(), TokenType.PASSWORD_RESET,
+                Instant.now().plusSeconds(3600), 0);
+
+        assertEquals(InvalidTokenException.invalid().getMessage(), assertThrows(InvalidTokenException.class,
+                () -> authService.verifyEmail(new VerifyEmailRequest(tampered))).getMessage());
+        assertEquals(InvalidTokenException.expired().getMessage(), assertThrows(InvalidTokenException.class,
+                () -> authService.verifyEmail(new VerifyEmailRequest(expired))).getMessage());
+        assertEquals(InvalidTokenException.invalid().getMessage(), assertThrows(InvalidTokenException.class,
+                () -> authService.verifyEmail(new VerifyEmailRequest(reset))).getMessage());
+        assertFalse(userRepository.findById(user.getId()).orElseThrow().getEmailVerified());
+    }
+
+    @Test
+    void passwordResetSupersedesEarlierLinksAndWorksOnce() {
+        long tokensBefore = verificationTokenRepository.count();
+        authService.forgotPassword(new ForgotPasswordRequest(user.getEmail()));
+        String first = resetTokenFromOutbox();
+        emailOutboxRepository.deleteAll();
+        authService.forgotPassword(new ForgotPasswordRequest(user.getEmail()));
+        String second = resetTokenFromOutbox();
+
+        assertThrows(InvalidTokenException.class,
+                () -> authService.resetPassword(new ResetPasswordRequest(first, "N3wSecret!!")));
+
+        authService.resetPassword(new ResetPasswordRequest(second, "N3wSecret!!")).join();
+        assertTrue(passwordEncoder.matches("N3wSecret!!",
+                userRepository.findById(user.getId()).orElseThrow().getPasswordHash()));
+
+        assertThrows(InvalidTokenException.class,
+                () -> authService.resetPassword(new ResetPasswordRequest(second, "An0therOne!")));
+        assertEquals(tokensBefore, verificationTokenRepository.count(), "signed mode must not store tokens");
+    }
+
+    private String resetTokenFromOutbox() {
+        String body = emailOutboxRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(user.getEmail()))
+                .findFirst()
+                .orElseThrow()
+                .getBody();
+        Matcher matcher = RESET_TOKEN.matcher(body);
+        assertTrue(matcher.find(), "reset link not found in email");
+        return matcher.group(1);
+    }
+}
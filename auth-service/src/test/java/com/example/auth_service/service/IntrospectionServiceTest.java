@@ -0,0 +1,148 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.IntrospectRequest;
+import com.example.auth_service.dto.response.IntrospectResponse;
+import com.example.auth_service.dto.response.IntrospectionResult;
+import com.example.auth_service.dto.response.IntrospectionResult.Status;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.exception.AuthException;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.JwtService;
+import com.example.auth_service.security.PrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IntrospectionServiceTest {
+
+    @Autowired
+    private IntrospectionService introspectionService;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Role userRole;
+
+    @BeforeEach
+    void setUp() {
+        userRole = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+        roleRepository.findByName(Role.ADMIN)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.ADMIN).build()));
+        roleRegistry.poll();
+    }
+
+    @Test
+    void reportsStateForTokensAndUserIds() {
+        UUID active = seedUser();
+        UUID locked = seedUser();
+        jdbcTemplate.update("UPDATE users SET locked_until = ? WHERE id = ?",
+                Timestamp.from(Instant.now().plus(Duration.ofMinutes(15))), locked);
+        principalCache.evict(locked);
+        UUID missing = UUID.randomUUID();
+
+        IntrospectResponse response = introspectionService.introspect(IntrospectRequest.builder()
+                .tokens(List.of(accessToken(active), "not-a-token"))
+                .userIds(List.of(active, locked, missing))
+                .build());
+
+        IntrospectionResult token = response.tokens().get(0);
+        assertEquals(active, token.userId());
+        assertEquals(Status.ACTIVE, token.status());
+        assertEquals(Set.of(Role.USER), token.roles());
+        assertFalse(token.rolesChanged());
+        assertEquals(Status.INVALID_TOKEN, response.tokens().get(1).status());
+
+        assertEquals(List.of(Status.ACTIVE, Status.LOCKED, Status.NOT_FOUND),
+                response.users().stream().map(IntrospectionResult::status).toList());
+        assertNull(response.users().get(0).rolesChanged());
+    }
+
+    @Test
+    void flagsTokensIssuedBeforeARoleChange() {
+        UUID userId = seedUser();
+        String token = accessToken(userId);
+        introspectionService.introspect(IntrospectRequest.builder().userIds(List.of(userId)).build());
+
+        roleService.assignRoleToUser(userId, Role.ADMIN);
+
+        IntrospectionResult result = introspectionService.introspect(IntrospectRequest.builder()
+                .tokens(List.of(token))
+                .build()).tokens().get(0);
+        assertTrue(result.rolesChanged());
+        assertEquals(Set.of(Role.USER, Role.ADMIN), result.roles());
+    }
+
+    @Test
+    void loadedUsersAreNotCached() {
+        UUID userId = seedUser();
+        principalCache.evict(userId);
+
+        introspectionService.introspect(IntrospectRequest.builder().userIds(List.of(userId)).build());
+
+        assertNull(principalCache.getIfPresent(userId));
+        // A change whose eviction already ran cannot be hidden by the earlier read
+        jdbcTemplate.update("UPDATE users SET locked_until = ? WHERE id = ?",
+                Timestamp.from(Instant.now().plus(Duration.ofMinutes(15))), userId);
+        assertEquals(Status.LOCKED, introspectionService.introspect(IntrospectRequest.builder()
+                .userIds(List.of(userId)).build()).users().get(0).status());
+    }
+
+    @Test
+    void rejectsOversizedBatches() {
+        List<UUID> tooMany = Collections.nCopies(501, UUID.randomUUID());
+
+        assertThrows(AuthException.class, () -> introspectionService.introspect(
+                IntrospectRequest.builder().userIds(tooMany).build()));
+    }
+
+    private UUID seedUser() {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, first_name, last_name, email_verified, is_active,
+                                   failed_login_attempts, created_at, updated_at)
+                VALUES (?, ?, 'Intro', 'Spect', TRUE, TRUE, 0, ?, ?)
+                """, id, "introspect-" + id + "@example.com", now, now);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", id, userRole.getId());
+        return id;
+    }
+
+    private String accessToken(UUID userId) {
+        return jwtService.generateAccessToken(userRepository.findById(userId).orElseThrow());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoleRegistryTest {
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void roleChangesOnThisInstanceSwapTheSnapshot() {
+        String name = "AUDITOR_" + System.nanoTime();
+        Role created = roleService.createRole(name, "Reads audit logs");
+
+        assertEquals(created.getId(), roleRegistry.findByName(name).orElseThrow().getId());
+        assertTrue(roleRegistry.findById(created.getId()).isPresent());
+
+        roleService.updateRole(created.getId(), "Reads everything");
+        assertEquals("Reads everything", roleRegistry.findById(created.getId()).orElseThrow().getDescription());
+
+        roleService.deleteRole(created.getId());
+        assertTrue(roleRegistry.findById(created.getId()).isEmpty());
+    }
+
+    @Test
+    void pollPicksUpChangesFromOtherReplicas() {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        String name = "REPLICA_" + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO roles (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                id, name, "Created elsewhere", now, now);
+
+        assertTrue(roleRegistry.findById(id).isEmpty());
+        roleRegistry.poll();
+
+        assertEquals(name, roleRegistry.findById(id).orElseThrow().getName());
+        assertEquals(1, roleRegistry.findByNames(Set.of(name, "MISSING")).size());
+    }
+}
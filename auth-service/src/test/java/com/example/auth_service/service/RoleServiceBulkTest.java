@@ -0,0 +1,181 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.request.BulkRoleRequest;
+import com.example.auth_service.dto.response.BulkRoleResult;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.exception.AuthException;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import com.example.auth_service.security.PrincipalCache;
+import com.example.auth_service.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoleServiceBulkTest {
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Role userRole;
+    private Role adminRole;
+
+    @BeforeEach
+    void setUp() {
+        userRole = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+        adminRole = roleRepository.findByName(Role.ADMIN)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.ADMIN).build()));
+        roleRegistry.poll();
+    }
+
+    @Test
+    void assignReportsAnOutcomePerUser() {
+        UUID plain = seedUser(userRole);
+        UUID admin = seedUser(adminRole);
+        UUID missing = UUID.randomUUID();
+
+        List<BulkRoleResult> results = roleService.applyBulkRoleChanges(BulkRoleRequest.builder()
+                .roleName(Role.ADMIN)
+                .action(BulkRoleRequest.Action.ASSIGN)
+                .userIds(List.of(plain, admin, missing))
+                .build());
+
+        assertEquals(List.of(BulkRoleResult.Status.UPDATED, BulkRoleResult.Status.UNCHANGED,
+                BulkRoleResult.Status.NOT_FOUND), results.stream().map(BulkRoleResult::status).toList());
+        assertEquals(Set.of(userRole.getId(), adminRole.getId()), rolesOf(plain));
+        assertEquals(Set.of(adminRole.getId()), rolesOf(admin));
+    }
+
+    @Test
+    void removingTheLastRoleIsRejected() {
+        UUID plain = seedUser(userRole);
+
+        List<BulkRoleResult> results = roleService.applyBulkRoleChanges(BulkRoleRequest.builder()
+                .roleName(Role.USER)
+                .action(BulkRoleRequest.Action.REMOVE)
+                .userIds(List.of(plain))
+                .build());
+
+        assertEquals(BulkRoleResult.Status.REJECTED, results.get(0).status());
+        assertEquals(Set.of(userRole.getId()), rolesOf(plain));
+    }
+
+    @Test
+    void appliesAPerUserDiff() {
+        UUID promoted = seedUser(userRole);
+        UUID demoted = seedUser(userRole, adminRole);
+
+        List<BulkRoleResult> results = roleService.applyBulkRoleChanges(BulkRoleRequest.builder()
+                .changes(List.of(
+                        new BulkRoleRequest.UserRoleChange(promoted, Set.of(Role.ADMIN), Set.of(Role.USER)),
+                        new BulkRoleRequest.UserRoleChange(demoted, null, Set.of(Role.ADMIN))))
+                .build());
+
+        assertTrue(results.stream().allMatch(result -> result.status() == BulkRoleResult.Status.UPDATED));
+        assertEquals(Set.of(adminRole.getId()), rolesOf(promoted));
+        assertEquals(Set.of(userRole.getId()), rolesOf(demoted));
+    }
+
+    @Test
+    void updatedUsersAreEvictedFromThePrincipalCache() {
+        UUID plain = seedUser(userRole);
+        principalCache.get(plain, id -> UserPrincipal.create(userRepository.findById(id).orElseThrow()));
+
+        roleService.applyBulkRoleChanges(BulkRoleRequest.builder()
+                .roleName(Role.ADMIN)
+                .action(BulkRoleRequest.Action.ASSIGN)
+                .userIds(List.of(plain))
+                .build());
+
+        assertNull(principalCache.getIfPresent(plain));
+    }
+
+    @Test
+    void concurrentRemovalsCannotStripTheLastRole() {
+        UUID both = seedUser(userRole, adminRole);
+
+        CompletableFuture<List<BulkRoleResult>> removeUser = CompletableFuture.supplyAsync(() ->
+                roleService.applyBulkRoleChanges(removal(Role.USER, both)));
+        CompletableFuture<List<BulkRoleResult>> removeAdmin = CompletableFuture.supplyAsync(() ->
+                roleService.applyBulkRoleChanges(removal(Role.ADMIN, both)));
+
+        List<BulkRoleResult.Status> statuses = List.of(removeUser.join().get(0).status(), removeAdmin.join().get(0).status());
+        assertTrue(statuses.contains(BulkRoleResult.Status.UPDATED));
+        assertTrue(statuses.contains(BulkRoleResult.Status.REJECTED));
+        assertEquals(1, rolesOf(both).size());
+    }
+
+    @Test
+    void rejectsMixedOrUnknownInput() {
+        UUID plain = seedUser(userRole);
+
+        assertThrows(AuthException.class, () -> roleService.applyBulkRoleChanges(BulkRoleRequest.builder()
+                .roleName(Role.ADMIN)
+                .action(BulkRoleRequest.Action.ASSIGN)
+                .userIds(List.of(plain))
+                .changes(List.of(new BulkRoleRequest.UserRoleChange(plain, Set.of(Role.ADMIN), null)))
+                .build()));
+        assertThrows(AuthException.class, () -> roleService.applyBulkRoleChanges(BulkRoleRequest.builder()
+                .roleName("NO_SUCH_ROLE")
+                .action(BulkRoleRequest.Action.ASSIGN)
+                .userIds(List.of(plain))
+                .build()));
+    }
+
+    private static BulkRoleRequest removal(String roleName, UUID userId) {
+        return BulkRoleRequest.builder()
+                .roleName(roleName)
+                .action(BulkRoleRequest.Action.REMOVE)
+                .userIds(List.of(userId))
+                .build();
+    }
+
+    private UUID seedUser(Role... roles) {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, first_name, last_name, email_verified, is_active,
+                                   failed_login_attempts, created_at, updated_at)
+                VALUES (?, ?, 'Bulk', 'Role', FALSE, TRUE, 0, ?, ?)
+                """, id, "bulk-" + id + "@example.com", now, now);
+        for (Role role : roles) {
+            jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", id, role.getId());
+        }
+        return id;
+    }
+
+    private Set<UUID> rolesOf(UUID userId) {
+        return Set.copyOf(jdbcTemplate.queryForList(
+                "SELECT role_id FROM user_roles WHERE user_id = ?", UUID.class, userId));
+    }
+}
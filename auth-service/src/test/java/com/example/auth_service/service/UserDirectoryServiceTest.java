@@ -0,0 +1,166 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.response.UserDirectoryEntry;
+import com.example.auth_service.dto.response.UserDirectoryPage;
+import com.example.auth_service.dto.response.UserSummary;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.exception.AuthException;
+import com.example.auth_service.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserDirectoryServiceTest {
+
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Role userRole;
+    private Role adminRole;
+
+    @BeforeEach
+    void setUp() {
+        userRole = roleRepository.findByName(Role.USER)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.USER).build()));
+        adminRole = roleRepository.findByName(Role.ADMIN)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.ADMIN).build()));
+        roleRegistry.poll();
+    }
+
+    @Test
+    void getSummaries_ReturnsKnownUsersOnce() {
+        UUID ada = seedUser("Ada", "Lovelace", "https://cdn.example.com/ada.png");
+        UUID alan = seedUser("Alan", "Turing", null);
+
+        List<UserSummary> summaries = userDirectoryService.getSummaries(List.of(ada, alan, ada, UUID.randomUUID()));
+
+        assertEquals(2, summaries.size());
+        Map<UUID, UserSummary> byId = summaries.stream()
+                .collect(Collectors.toMap(UserSummary::id, Function.identity()));
+        assertEquals(new UserSummary(ada, "Ada", "Lovelace", "https://cdn.example.com/ada.png"), byId.get(ada));
+        assertNull(byId.get(alan).avatarUrl());
+    }
+
+    @Test
+    void getSummaries_EmptyInputSkipsTheQuery() {
+        assertTrue(userDirectoryService.getSummaries(List.of()).isEmpty());
+    }
+
+    @Test
+    void search_WalksPagesNewestFirst() {
+        String prefix = uniquePrefix();
+        Instant base = Instant.now().minus(Duration.ofDays(1));
+        List<UUID> seeded = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            seeded.add(seedUser(prefix + i, "Paged", base.plusSeconds(i), userRole));
+        }
+
+        List<UUID> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            UserDirectoryPage page = userDirectoryService.search(prefix, null, cursor, 2);
+            page.items().forEach(entry -> walked.add(entry.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Collections.reverse(seeded);
+        assertEquals(3, pages);
+        assertEquals(seeded, walked);
+    }
+
+    @Test
+    void search_MatchesPrefixOfEmailOrNameIgnoringCase() {
+        String prefix = uniquePrefix();
+        UUID byFirstName = seedUser(prefix + "ada", "Lovelace", Instant.now(), userRole);
+        UUID byLastName = seedUser("Alan", prefix + "turing", Instant.now(), userRole);
+        seedUser("Grace", "Hopper " + prefix, Instant.now(), userRole);
+
+        List<UUID> found = userDirectoryService.search(prefix.toUpperCase(), null, null, null).items().stream()
+                .map(UserDirectoryEntry::id)
+                .toList();
+
+        assertEquals(2, found.size());
+        assertTrue(found.containsAll(List.of(byFirstName, byLastName)));
+        assertTrue(userDirectoryService.search("directory-" + byLastName, null, null, null).items().stream()
+                .anyMatch(entry -> entry.id().equals(byLastName)));
+        assertTrue(userDirectoryService.search(prefix.substring(0, 3) + "%", null, null, null).items().isEmpty());
+    }
+
+    @Test
+    void search_FiltersByRoleAndReturnsRoleNames() {
+        String prefix = uniquePrefix();
+        UUID admin = seedUser(prefix + "admin", "Role", Instant.now(), userRole, adminRole);
+        seedUser(prefix + "plain", "Role", Instant.now(), userRole);
+
+        List<UserDirectoryEntry> admins = userDirectoryService.search(prefix, "admin", null, null).items();
+
+        assertEquals(1, admins.size());
+        assertEquals(admin, admins.get(0).id());
+        assertEquals(Set.of(Role.USER, Role.ADMIN), admins.get(0).roles());
+        assertThrows(AuthException.class, () -> userDirectoryService.search(prefix, "NO_SUCH_ROLE", null, null));
+    }
+
+    @Test
+    void search_RejectsMalformedCursor() {
+        assertThrows(AuthException.class, () -> userDirectoryService.search(null, null, "not-a-cursor", 10));
+    }
+
+    private UUID seedUser(String firstName, String lastName, String avatarUrl) {
+        UUID id = UUID.randomUUID();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, first_name, last_name, avatar_url, email_verified, is_active,
+                                   failed_login_attempts, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, TRUE, TRUE, 0, ?, ?)
+                """, id, "directory-" + id + "@example.com", firstName, lastName, avatarUrl, now, now);
+        return id;
+    }
+
+    private UUID seedUser(String firstName, String lastName, Instant createdAt, Role... roles) {
+        UUID id = UUID.randomUUID();
+        Timestamp created = Timestamp.from(createdAt);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, first_name, last_name, email_verified, is_active,
+                                   failed_login_attempts, created_at, updated_at)
+                VALUES (?, ?, ?, ?, TRUE, TRUE, 0, ?, ?)
+                """, id, "directory-" + id + "@example.com", firstName, lastName, created, created);
+        for (Role role : roles) {
+            jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", id, role.getId());
+        }
+        return id;
+    }
+
+    private static String uniquePrefix() {
+        return "dir" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.auth_service.service;
+
+import com.example.auth_service.dto.response.ImportUserResult;
+import com.example.auth_service.dto.response.ImportUserResult.Status;
+import com.example.auth_service.entity.Role;
+import com.example.auth_service.entity.User;
+import com.example.auth_service.repository.RoleRepository;
+import com.example.auth_service.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "users.import.chunk-size=2")
+@ActiveProfiles("test")
+class UserImportServiceTest {
+
+    private static final String PASSWORD = "Sup3rSecret!";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        for (String name : List.of(Role.USER, Role.ADMIN)) {
+            if (roleRepository.findByName(name).isEmpty()) {
+                roleRepository.save(Role.builder().name(name).build());
+            }
+        }
+        roleRegistry.poll();
+        prefix = "import-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                prefix + "-%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", prefix + "-%");
+    }
+
+    @Test
+    void importsCsvAndReportsEveryRow() {
+        userRepository.save(User.builder()
+                .email(prefix + "-taken@example.com")
+                .passwordHash("unused")
+                .firstName("Taken")
+                .lastName("User")
+                .build());
+
+        String csv = """
+                email,password,first_name,last_name,roles
+                %1$s-ann@example.com,%2$s,Ann,Lee,
+                "%1$s-bob@example.com",%2$s,"Bob, Jr.",Ray,USER;ADMIN
+                %1$s-ann@example.com,%2$s,Ann,Again,
+                %1$s-taken@example.com,%2$s,Taken,Again,
+                not-an-email,%2$s,Bad,Row,
+                %1$s-cy@example.com,%2$s,Cy,Doe,AUDITOR
+                """.formatted(prefix, PASSWORD);
+
+        Map<Integer, ImportUserResult> results = run(csv, UserImportService.Format.CSV);
+
+        assertEquals(Status.CREATED, results.get(2).status());
+        assertEquals(Status.CREATED, results.get(3).status());
+        assertEquals(Status.EXISTS, results.get(4).status(), "created by an earlier chunk");
+        assertEquals(Status.EXISTS, results.get(5).status());
+        assertEquals(Status.INVALID, results.get(6).status());
+        assertEquals(Status.INVALID, results.get(7).status());
+
+        User bob = userRepository.findByEmail(prefix + "-bob@example.com").orElseThrow();
+        assertEquals("Bob, Jr.", bob.getFirstName());
+        assertEquals(Set.of(Role.USER, Role.ADMIN), bob.getRoleNames());
+        assertTrue(passwordEncoder.matches(PASSWORD, bob.getPasswordHash()));
+    }
+
+    @Test
+    void importsNdjsonAndReportsMalformedLines() {
+        String ndjson = """
+                {"email":"%1$s-dee@example.com","password":"%2$s","firstName":"Dee","lastName":"Fox"}
+                {"email":
+                {"email":"%1$s-eve@example.com","password":"%2$s","firstName":"Eve","lastName":"Gray","roles":["user"]}
+                """.formatted(prefix, PASSWORD);
+
+        Map<Integer, ImportUserResult> results = run(ndjson, UserImportService.Format.NDJSON);
+
+        assertEquals(Status.CREATED, results.get(1).status());
+        assertEquals(Status.INVALID, results.get(2).status());
+        assertEquals(Status.CREATED, results.get(3).status());
+        assertEquals(Role.USER, userRepository.findByEmail(prefix + "-eve@example.com").orElseThrow()
+                .getRoleNames().iterator().next());
+    }
+
+    private Map<Integer, ImportUserResult> run(String body, UserImportService.Format format) {
+        List<ImportUserResult> results = new ArrayList<>();
+        userImportService.importUsers(new BufferedReader(new StringReader(body)), format, results::add);
+        return results.stream().collect(Collectors.toMap(ImportUserResult::line, Function.identity()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.auth_service.support;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delegating encoder whose hashing calls can be held until the test releases them, so a
+ * hash can be observed in flight. Open by default.
+ */
+public class GatedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AtomicInteger entered = new AtomicInteger();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    public GatedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Holds every following encode and matches call until {@link #open()}.
+     */
+    public void close() {
+        entered.set(0);
+        gate = new CountDownLatch(1);
+    }
+
+    public void open() {
+        gate.countDown();
+    }
+
+    /**
+     * Waits until {@code calls} hashing calls are held at the gate.
+     */
+    public boolean awaitEntered(int calls) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (entered.get() < calls) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        pass();
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        pass();
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private void pass() {
+        CountDownLatch current = gate;
+        entered.incrementAndGet();
+        try {
+            if (!current.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Gate was not opened");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.auth_service.template;
+
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateRendererTest {
+
+    private final TemplateEngine templateEngine = templateEngine();
+
+    @Test
+    void planOutputMatchesThymeleaf() {
+        EmailTemplateRenderer renderer = new EmailTemplateRenderer(templateEngine, true);
+        Map<String, Map<String, Object>> cases = Map.of(
+                "email-verification", Map.of("firstName", "Ann <b>&</b> \"O'Neil\"",
+                        "verificationUrl", "https://app.example.com/verify-email?token=a&b=<c>", "expiryHours", 24),
+                "password-reset", Map.of("firstName", "Bob",
+                        "resetUrl", "https://app.example.com/reset-password?token=x\"y", "expiryMinutes", 60),
+                "password-reset-confirmation", Map.of("firstName", "Cy",
+                        "loginUrl", "https://app.example.com/login"));
+
+        cases.forEach((template, variables) -> {
+            Context context = new Context();
+            context.setVariables(variables);
+            assertEquals(templateEngine.process(template, context), renderer.render(template, variables), template);
+        });
+    }
+
+    @Test
+    void planIsReusedAcrossCalls() {
+        EmailTemplateRenderer renderer = new EmailTemplateRenderer(templateEngine, true);
+        Map<String, Object> first = Map.of("firstName", "First", "loginUrl", "https://a.example.com");
+        Map<String, Object> second = Map.of("firstName", "Second", "loginUrl", "https://b.example.com");
+
+        renderer.render("password-reset-confirmation", first);
+        String html = renderer.render("password-reset-confirmation", second);
+
+        assertTrue(html.contains("Second"));
+        assertTrue(html.contains("https://b.example.com"));
+        assertFalse(html.contains("First"));
+    }
+
+    static TemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        TemplateEngine engine = new TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+}
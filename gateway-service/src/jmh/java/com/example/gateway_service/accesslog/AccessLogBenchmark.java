@@ -0,0 +1,107 @@
+package com.example.gateway_service.accesslog;
+
+import com.example.gateway_service.config.AccessLogProperties;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging cost on the request thread: the previous synchronous
+ * LogFilter + JwtUtil INFO lines versus a single record handed to {@link AccessLogWriter}.
+ * <p>
+ * Run with {@code ./gradlew :gateway-service:jmh}. Once the drain thread falls behind, the
+ * writer drops records instead of blocking, so {@code asyncAccessLog} also reports how many
+ * calls were {@code queued}, {@code sampledOut} and {@code dropped}. Only the queued rate is
+ * work that actually reaches the log; read the headline throughput next to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class AccessLogBenchmark {
+
+    private static final Logger LEGACY_LOG = LoggerFactory.getLogger("com.example.gateway_service.filter.LogFilter");
+
+    @Param({"1.0", "0.1"})
+    public double successSampleRate;
+
+    private AccessLogWriter writer;
+    private URI uri;
+    private Map<String, String> pathVariables;
+    private Map<String, Object> claims;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSuccessSampleRate(successSampleRate);
+        writer = new AccessLogWriter(properties);
+        writer.start();
+
+        uri = URI.create("http://localhost:8080/api/projects/42/members?page=0&size=20");
+        pathVariables = Map.of("projectId", "42");
+        claims = new LinkedHashMap<>();
+        claims.put("sub", "7f3a2c9e-1b4d-4e8a-9c2f-5d6e7a8b9c0d");
+        claims.put("email", "jane.doe@example.com");
+        claims.put("roles", List.of("USER", "ADMIN"));
+        claims.put("iss", "taskflow-auth");
+        claims.put("iat", 1_760_000_000L);
+        claims.put("exp", 1_760_000_900L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        writer.stop();
+        System.out.printf("%nAccessLogWriter written=%d dropped=%d%n", writer.getWrittenCount(), writer.getDroppedCount());
+    }
+
+    @Benchmark
+    public void synchronousLogging() {
+        LEGACY_LOG.info("Request URI: {}", uri);
+        LEGACY_LOG.info("Path variables: {}", pathVariables);
+        LEGACY_LOG.info("JWT claims: {}", claims);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long queued;
+        public long sampledOut;
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            queued = 0;
+            sampledOut = 0;
+            dropped = 0;
+        }
+    }
+
+    @Benchmark
+    public void asyncAccessLog(Outcomes outcomes) {
+        AccessLogWriter.Outcome outcome = writer.offer(new AccessLogRecord(
+                System.currentTimeMillis(), "project-service-projects", "GET", 200, 1_250_000L,
+                "7f3a2c9e-1b4d-4e8a-9c2f-5d6e7a8b9c0d"));
+        switch (outcome) {
+            case QUEUED -> outcomes.queued++;
+            case SAMPLED_OUT -> outcomes.sampledOut++;
+            case DROPPED -> outcomes.dropped++;
+        }
+    }
+}
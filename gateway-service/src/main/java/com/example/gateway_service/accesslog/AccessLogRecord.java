@@ -0,0 +1,18 @@
+package com.example.gateway_service.accesslog;
+
+/**
+ * One request as seen by the gateway. Captured on the request thread, formatted off it.
+ */
+public record AccessLogRecord(
+        long timestampMillis,
+        String route,
+        String method,
+        int status,
+        long latencyNanos,
+        String userId
+) {
+
+    public boolean isError() {
+        return status >= 400;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.gateway_service.accesslog;
+
+import com.example.gateway_service.config.AccessLogProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes access-log records through a bounded buffer drained by a single background thread.
+ * Request threads only pay for a sampling decision and a non-blocking offer; when the
+ * buffer is full the record is dropped and counted rather than stalling the request.
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final int USER_HASH_BYTES = 6;
+    private static final long POLL_MILLIS = 200;
+
+    private final AccessLogProperties properties;
+    private final BlockingQueue<AccessLogRecord> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread drainThread;
+
+    public enum Outcome { QUEUED, SAMPLED_OUT, DROPPED }
+
+    public AccessLogWriter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainThread = new Thread(this::drainLoop, "access-log-writer");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (drainThread != null) {
+            drainThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Offer a record for asynchronous writing. Never blocks.
+     *
+     * @return false if the record was sampled out or dropped
+     */
+    public boolean submit(AccessLogRecord record) {
+        return offer(record) == Outcome.QUEUED;
+    }
+
+    /**
+     * Same as {@link #submit} but tells a sampled-out record apart from a dropped one.
+     */
+    public Outcome offer(AccessLogRecord record) {
+        if (!record.isError() && !sampled()) {
+            return Outcome.SAMPLED_OUT;
+        }
+        if (!buffer.offer(record)) {
+            dropped.incrementAndGet();
+            return Outcome.DROPPED;
+        }
+        return Outcome.QUEUED;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSuccessSampleRate();
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void drainLoop() {
+        MessageDigest digest = sha256();
+        StringBuilder line = new StringBuilder(192);
+        List<AccessLogRecord> batch = new ArrayList<>(properties.getBatchSize());
+        long reportedDrops = 0;
+
+        while (running || !buffer.isEmpty()) {
+            try {
+                AccessLogRecord first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, properties.getBatchSize() - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (AccessLogRecord record : batch) {
+                line.setLength(0);
+                ACCESS_LOG.info(format(record, digest, line));
+            }
+            written.addAndGet(batch.size());
+            batch.clear();
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                log.warn("Access log buffer full, {} records dropped so far", drops);
+                reportedDrops = drops;
+            }
+        }
+    }
+
+    private String format(AccessLogRecord record, MessageDigest digest, StringBuilder line) {
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(record.timestampMillis()))
+                .append("\",\"route\":\"").append(record.route())
+                .append("\",\"method\":\"").append(record.method())
+                .append("\",\"status\":").append(record.status())
+                .append(",\"latencyMs\":").append(record.latencyNanos() / 1_000L / 1000.0);
+        if (record.userId() != null) {
+            line.append(",\"user\":\"").append(hashUserId(record.userId(), digest)).append('"');
+        }
+        return line.append('}').toString();
+    }
+
+    private String hashUserId(String userId, MessageDigest digest) {
+        byte[] hash = digest.digest(userId.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash, 0, USER_HASH_BYTES);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.gateway_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Capacity of the in-memory buffer. Records offered while it is full are dropped.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Max records written per drain of the buffer.
+     */
+    private int batchSize = 256;
+
+    /**
+     * Fraction of successful (status below 400) requests to log, between 0.0 and 1.0.
+     * Errors are never sampled out.
+     */
+    private double successSampleRate = 1.0;
+}
@@ -0,0 +1,25 @@
+package com.example.gateway_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "gateway.health")
+public class HealthProbeProperties {
+
+    private Duration probeInterval = Duration.ofSeconds(10);
+    private Duration probeTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Upstream name to health URL. Probed in the background; never on the request path.
+     */
+    private Map<String, String> upstreams = new LinkedHashMap<>();
+}
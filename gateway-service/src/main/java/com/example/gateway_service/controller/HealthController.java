@@ -0,0 +1,27 @@
+package com.example.gateway_service.controller;
+
+import com.example.gateway_service.health.UpstreamHealthMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class HealthController {
+
+    private final UpstreamHealthMonitor upstreamHealthMonitor;
+
+    /**
+     * Aggregate health of all upstreams, served from the last background probe round.
+     * Always 200 while the gateway itself is up; degraded upstreams are reported in the body.
+     */
+    @GetMapping("/health")
+    public ResponseEntity<Map<String, Object>> health() {
+        return ResponseEntity.ok(upstreamHealthMonitor.getSnapshot().body());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.gateway_service.filter;
+
+import com.example.gateway_service.accesslog.AccessLogRecord;
+import com.example.gateway_service.accesslog.AccessLogWriter;
+import com.example.gateway_service.config.AccessLogProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Emits one structured access-log record per request: route, status, latency and a hash
+ * of the authenticated user id. Formatting and I/O happen on the {@link AccessLogWriter} thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String ROUTE_ATTRIBUTE = AccessLogFilter.class.getName() + ".route";
+    public static final String USER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".userId";
+
+    private static final String UNMATCHED_ROUTE = "-";
+
+    private final AccessLogWriter accessLogWriter;
+    private final AccessLogProperties properties;
+
+    /**
+     * Route filter that tags the request with its route id for the access log.
+     */
+    public static Function<ServerRequest, ServerRequest> route(String routeId) {
+        return request -> {
+            request.servletRequest().setAttribute(ROUTE_ATTRIBUTE, routeId);
+            return request;
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            Object route = request.getAttribute(ROUTE_ATTRIBUTE);
+            Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+            accessLogWriter.submit(new AccessLogRecord(
+                    System.currentTimeMillis(),
+                    route != null ? route.toString() : UNMATCHED_ROUTE,
+                    request.getMethod(),
+                    status,
+                    System.nanoTime() - start,
+                    userId != null ? userId.toString() : null
+            ));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.gateway_service.filter;
 
 import com.example.gateway_service.util.JwtUtil;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -36,23 +37,27 @@ public class AuthenticationFilter {
         String token = authHeader.substring(BEARER_PREFIX.length());
 
         try {
-            if (!jwtUtil.validateToken(token)) {
+            // One verification: the parser rejects bad signatures and expired tokens
+            Claims claims;
+            try {
+                claims = jwtUtil.extractAllClaims(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 log.warn("Invalid JWT token");
                 throw new AuthenticationException("Invalid JWT token");
             }
 
-            Claims claims = jwtUtil.extractAllClaims(token);
             String userId = claims.getSubject();
             String email = claims.get("email", String.class);
-            List<String> roles = claims.get("roles", List.class);
+            List<String> roles = jwtUtil.extractRoles(claims);
 
-            log.debug("Authenticated user: {} ({})", userId, email);
+            log.debug("Authenticated user: {}", userId);
+            request.servletRequest().setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, userId);
 
             // Create new request with added headers
             return ServerRequest.from(request)
                     .header(X_USER_ID, userId)
                     .header(X_USER_EMAIL, email != null ? email : "")
-                    .header(X_USER_ROLES, roles != null ? roles.get(0) : "")
+                    .header(X_USER_ROLES, !roles.isEmpty() ? roles.get(0) : "")
                     .build();
 
         } catch (AuthenticationException e) {
@@ -0,0 +1,37 @@
+package com.example.gateway_service.health;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of one probe round. The response body is built once per round
+ * so that serving {@code /api/health} is a single volatile read.
+ */
+public record HealthSnapshot(String status, List<UpstreamHealth> upstreams, Instant checkedAt, Map<String, Object> body) {
+
+    public static final String UP = "UP";
+    public static final String DEGRADED = "DEGRADED";
+    public static final String UNKNOWN = "UNKNOWN";
+
+    public static HealthSnapshot of(List<UpstreamHealth> upstreams, Instant checkedAt) {
+        // Nothing probed yet, or nothing to probe: never claim UP without a result.
+        String status;
+        if (checkedAt == null || upstreams.isEmpty()) {
+            status = UNKNOWN;
+        } else if (upstreams.stream().allMatch(UpstreamHealth::isUp)) {
+            status = UP;
+        } else {
+            status = DEGRADED;
+        }
+
+        Map<String, Object> body = Map.of(
+                "success", true,
+                "service", "gateway-service",
+                "status", status,
+                "upstreams", List.copyOf(upstreams),
+                "timestamp", checkedAt != null ? checkedAt.toString() : ""
+        );
+        return new HealthSnapshot(status, List.copyOf(upstreams), checkedAt, body);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.gateway_service.health;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UpstreamHealth(
+        String name,
+        String status,
+        Integer httpStatus,
+        Long latencyMs,
+        Instant checkedAt,
+        String error
+) {
+
+    public static final String UP = "UP";
+    public static final String DOWN = "DOWN";
+    public static final String UNKNOWN = "UNKNOWN";
+
+    public static UpstreamHealth unknown(String name) {
+        return new UpstreamHealth(name, UNKNOWN, null, null, null, null);
+    }
+
+    public boolean isUp() {
+        return UP.equals(status);
+    }
+}
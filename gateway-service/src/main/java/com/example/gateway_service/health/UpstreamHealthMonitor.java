@@ -0,0 +1,88 @@
+package com.example.gateway_service.health;
+
+import com.example.gateway_service.config.HealthProbeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+public class UpstreamHealthMonitor {
+
+    private final HealthProbeProperties properties;
+    private final HttpClient httpClient;
+
+    private volatile HealthSnapshot snapshot;
+
+    public UpstreamHealthMonitor(HealthProbeProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getProbeTimeout())
+                .build();
+        this.snapshot = HealthSnapshot.of(
+                properties.getUpstreams().keySet().stream().map(UpstreamHealth::unknown).toList(),
+                null);
+    }
+
+    public HealthSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Probe every upstream concurrently and publish the results as a new snapshot.
+     */
+    @Scheduled(fixedDelayString = "${gateway.health.probe-interval:10s}")
+    public void probeUpstreams() {
+        List<CompletableFuture<UpstreamHealth>> probes = new ArrayList<>();
+        for (Map.Entry<String, String> upstream : properties.getUpstreams().entrySet()) {
+            probes.add(probe(upstream.getKey(), upstream.getValue()));
+        }
+
+        List<UpstreamHealth> results = probes.stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        HealthSnapshot next = HealthSnapshot.of(results, Instant.now());
+        if (!next.status().equals(snapshot.status())) {
+            log.info("Upstream health changed: {} -> {}", snapshot.status(), next.status());
+        }
+        snapshot = next;
+    }
+
+    private CompletableFuture<UpstreamHealth> probe(String name, String url) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(properties.getProbeTimeout())
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(
+                    new UpstreamHealth(name, UpstreamHealth.DOWN, null, null, Instant.now(), "Invalid health URL"));
+        }
+
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, ex) -> {
+                    long latencyMs = (System.nanoTime() - start) / 1_000_000;
+                    if (ex != null) {
+                        log.debug("Health probe failed for {}: {}", name, ex.getMessage());
+                        return new UpstreamHealth(name, UpstreamHealth.DOWN, null, latencyMs, Instant.now(),
+                                ex.getClass().getSimpleName());
+                    }
+                    int code = response.statusCode();
+                    String status = code >= 200 && code < 300 ? UpstreamHealth.UP : UpstreamHealth.DOWN;
+                    return new UpstreamHealth(name, status, code, latencyMs, Instant.now(), null);
+                });
+    }
+}
@@ -1,52 +1,96 @@
 package com.example.gateway_service.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
+    // Compact access tokens (auth-service jwt.compact-claims): built-in roles are bits of
+    // "r", other roles are listed in "x". Must match auth-service CompactClaims; both
+    // sides pin the bit positions in their tests (JwtUtilTest, JwtServiceCompactClaimsTest).
+    private static final String COMPACT_ROLES = "r";
+    private static final String COMPACT_EXTRA_ROLES = "x";
+    private static final List<String> ROLE_BITS = List.of("SUPER_ADMIN", "ADMIN", "USER");
+
     @Value("${jwt.secret}")
     private String secret;
 
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        jwtParser = Jwts.parser()
+                .verifyWith(getSigningKey())
+                .build();
+    }
+
     public boolean validateToken(String token) {
         try {
             Claims claims = extractAllClaims(token);
-            log.info("JWT claims: {}", claims);
             return !isTokenExpired(claims);
         } catch (Exception e) {
-            log.error("JWT validation error: {}", e.getMessage());
+            log.debug("JWT validation error: {}", e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Verifies the signature and expiry; throws if either fails.
+     */
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public String extractUserId(String token) {
         return extractAllClaims(token).getSubject();
     }
 
+    /**
+     * {@code null} for compact tokens, which do not carry the email.
+     */
     public String extractEmail(String token) {
         return extractAllClaims(token).get("email", String.class);
     }
 
-    public String extractRoles(String token) {
-        return extractAllClaims(token).get("roles", String.class);
+    public List<String> extractRoles(String token) {
+        return extractRoles(extractAllClaims(token));
+    }
+
+    /**
+     * Role names from either the full ({@code roles}) or the compact claim profile.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(Claims claims) {
+        Integer mask = claims.get(COMPACT_ROLES, Integer.class);
+        if (mask == null) {
+            List<String> roles = claims.get("roles", List.class);
+            return roles != null ? roles : List.of();
+        }
+        List<String> roles = new ArrayList<>();
+        for (int bit = 0; bit < ROLE_BITS.size(); bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                roles.add(ROLE_BITS.get(bit));
+            }
+        }
+        List<String> extraRoles = claims.get(COMPACT_EXTRA_ROLES, List.class);
+        if (extraRoles != null) {
+            roles.addAll(extraRoles);
+        }
+        return roles;
     }
 
     private boolean isTokenExpired(Claims claims) {
@@ -0,0 +1,68 @@
+package com.example.gateway_service.accesslog;
+
+import com.example.gateway_service.config.AccessLogProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogWriterTest {
+
+    private static AccessLogRecord record(int status) {
+        return new AccessLogRecord(System.currentTimeMillis(), "auth-service", "GET", status, 1_000_000L, "user-1");
+    }
+
+    @Test
+    void successesAreSampledOutButErrorsAreAlwaysKept() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSuccessSampleRate(0.0);
+        AccessLogWriter writer = new AccessLogWriter(properties);
+
+        assertFalse(writer.submit(record(200)));
+        assertTrue(writer.submit(record(401)));
+        assertTrue(writer.submit(record(502)));
+        assertEquals(0, writer.getDroppedCount());
+    }
+
+    @Test
+    void fullBufferDropsInsteadOfBlocking() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setBufferSize(2);
+        AccessLogWriter writer = new AccessLogWriter(properties);
+
+        assertTrue(writer.submit(record(200)));
+        assertTrue(writer.submit(record(500)));
+        assertFalse(writer.submit(record(500)));
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    @Test
+    void offerTellsSampledOutFromDropped() {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSuccessSampleRate(0.0);
+        properties.setBufferSize(1);
+        AccessLogWriter writer = new AccessLogWriter(properties);
+
+        assertEquals(AccessLogWriter.Outcome.SAMPLED_OUT, writer.offer(record(200)));
+        assertEquals(AccessLogWriter.Outcome.QUEUED, writer.offer(record(500)));
+        assertEquals(AccessLogWriter.Outcome.DROPPED, writer.offer(record(500)));
+    }
+
+    @Test
+    void stopWithoutStartIsANoOp() {
+        AccessLogWriter writer = new AccessLogWriter(new AccessLogProperties());
+
+        assertDoesNotThrow(writer::stop);
+    }
+
+    @Test
+    void drainsBufferedRecordsOnStop() throws InterruptedException {
+        AccessLogWriter writer = new AccessLogWriter(new AccessLogProperties());
+        writer.start();
+        for (int i = 0; i < 100; i++) {
+            writer.submit(record(200));
+        }
+        writer.stop();
+
+        assertEquals(100, writer.getWrittenCount());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.gateway_service.health;
+
+import com.example.gateway_service.config.HealthProbeProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamHealthMonitorTest {
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/up", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/down", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void snapshotIsUnknownBeforeFirstProbe() {
+        UpstreamHealthMonitor monitor = new UpstreamHealthMonitor(properties(Map.of("a", baseUrl + "/up")));
+
+        assertEquals(HealthSnapshot.UNKNOWN, monitor.getSnapshot().status());
+        assertEquals(UpstreamHealth.UNKNOWN, monitor.getSnapshot().upstreams().get(0).status());
+    }
+
+    @Test
+    void probeReportsStatusAndLatencyPerUpstream() {
+        UpstreamHealthMonitor monitor = new UpstreamHealthMonitor(properties(Map.of(
+                "healthy", baseUrl + "/up",
+                "unhealthy", baseUrl + "/down",
+                "unreachable", "http://localhost:1/health")));
+
+        monitor.probeUpstreams();
+
+        HealthSnapshot snapshot = monitor.getSnapshot();
+        Map<String, UpstreamHealth> byName = snapshot.upstreams().stream()
+                .collect(Collectors.toMap(UpstreamHealth::name, h -> h));
+
+        assertEquals(HealthSnapshot.DEGRADED, snapshot.status());
+        assertEquals(UpstreamHealth.UP, byName.get("healthy").status());
+        assertEquals(200, byName.get("healthy").httpStatus());
+        assertNotNull(byName.get("healthy").latencyMs());
+        assertEquals(UpstreamHealth.DOWN, byName.get("unhealthy").status());
+        assertEquals(503, byName.get("unhealthy").httpStatus());
+        assertEquals(UpstreamHealth.DOWN, byName.get("unreachable").status());
+        assertNotNull(byName.get("unreachable").error());
+    }
+
+    @Test
+    void allUpstreamsUpReportsUp() {
+        UpstreamHealthMonitor monitor = new UpstreamHealthMonitor(properties(Map.of("a", baseUrl + "/up")));
+
+        monitor.probeUpstreams();
+
+        assertEquals(HealthSnapshot.UP, monitor.getSnapshot().status());
+        assertSame(monitor.getSnapshot().body(), monitor.getSnapshot().body());
+    }
+
+    @Test
+    void noUpstreamsReportsUnknownEvenAfterProbing() {
+        UpstreamHealthMonitor monitor = new UpstreamHealthMonitor(properties(Map.of()));
+
+        assertEquals(HealthSnapshot.UNKNOWN, monitor.getSnapshot().status());
+
+        monitor.probeUpstreams();
+
+        assertEquals(HealthSnapshot.UNKNOWN, monitor.getSnapshot().status());
+        assertTrue(monitor.getSnapshot().upstreams().isEmpty());
+    }
+
+    private HealthProbeProperties properties(Map<String, String> upstreams) {
+        HealthProbeProperties properties = new HealthProbeProperties();
+        properties.setProbeTimeout(Duration.ofSeconds(2));
+        properties.getUpstreams().putAll(upstreams);
+        return properties;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.gateway_service.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Role bits are a wire contract with auth-service CompactClaims (JwtServiceCompactClaimsTest
+ * pins the same positions there): bit 0 SUPER_ADMIN, bit 1 ADMIN, bit 2 USER.
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-for-unit-testing-purposes-only-minimum-256-bits";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        jwtUtil.init();
+    }
+
+    @Test
+    void compactTokenDecodesRoleBitsAndExtraRoles() {
+        String token = token(Map.of("r", 0b101, "x", List.of("AUDITOR")));
+
+        assertEquals(List.of("SUPER_ADMIN", "USER", "AUDITOR"), jwtUtil.extractRoles(token));
+        assertNull(jwtUtil.extractEmail(token));
+    }
+
+    @Test
+    void compactRoleBitPositions() {
+        assertEquals(List.of("SUPER_ADMIN"), jwtUtil.extractRoles(token(Map.of("r", 0b001))));
+        assertEquals(List.of("ADMIN"), jwtUtil.extractRoles(token(Map.of("r", 0b010))));
+        assertEquals(List.of("USER"), jwtUtil.extractRoles(token(Map.of("r", 0b100))));
+    }
+
+    @Test
+    void fullTokenUsesRolesClaim() {
+        String token = token(Map.of("email", "jane.doe@example.com", "roles", List.of("ADMIN", "USER")));
+
+        assertTrue(jwtUtil.validateToken(token));
+        assertEquals(List.of("ADMIN", "USER"), jwtUtil.extractRoles(token));
+        assertEquals("jane.doe@example.com", jwtUtil.extractEmail(token));
+    }
+
+    private static String token(Map<String, Object> claims) {
+        return Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .claims(claims)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.project_service.client;
+
+import com.example.project_service.config.AuthServiceProperties;
+import com.example.project_service.dto.response.UserSummaryResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Names and avatars from auth-service's {@code POST /users/summaries}, kept in a
+ * per-instance cache so a member list costs at most one upstream call for the users
+ * not seen recently.
+ */
+@Slf4j
+@Component
+public class UserSummaryClient {
+
+    private static final String API_KEY_HEADER = "X-Internal-Api-Key";
+    private static final int MAX_IDS_PER_CALL = 500;  // auth-service limit
+
+    private final RestClient restClient;
+    private final Cache<UUID, UserSummaryResponse> cache;
+
+    public UserSummaryClient(AuthServiceProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(properties.getConnectTimeout()));
+        requestFactory.setReadTimeout(Duration.ofMillis(properties.getReadTimeout()));
+        this.restClient = RestClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .requestFactory(requestFactory)
+                .defaultHeader(API_KEY_HEADER, properties.getApiKey())
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getSummaryCache().getMaxSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getSummaryCache().getTtl()))
+                .build();
+    }
+
+    /**
+     * Summaries keyed by user id. Users auth-service does not know are missing from the
+     * map; if auth-service cannot be reached only cached entries are returned.
+     */
+    public Map<UUID, UserSummaryResponse> getSummaries(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return cache.getAll(userIds, this::fetch);
+        } catch (RestClientException e) {
+            log.warn("Could not fetch user summaries from auth-service: {}", e.getMessage());
+            return cache.getAllPresent(userIds);
+        }
+    }
+
+    private Map<UUID, UserSummaryResponse> fetch(Set<? extends UUID> userIds) {
+        List<UUID> ids = new ArrayList<>(userIds);
+        Map<UUID, UserSummaryResponse> summaries = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_CALL) {
+            List<UserSummaryResponse> page = restClient.post()
+                    .uri("/users/summaries")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("ids", ids.subList(from, Math.min(from + MAX_IDS_PER_CALL, ids.size()))))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<UserSummaryResponse>>() {});
+            if (page != null) {
+                page.forEach(summary -> summaries.put(summary.getId(), summary));
+            }
+        }
+        log.debug("Fetched {} of {} user summaries from auth-service", summaries.size(), ids.size());
+        return summaries;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.project_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "auth-service")
+public class AuthServiceProperties {
+
+    private String baseUrl = "http://localhost:8081/api/auth";
+    private String apiKey = "";  // sent as X-Internal-Api-Key
+    private Long connectTimeout = 1000L;
+    private Long readTimeout = 2000L;
+    private SummaryCache summaryCache = new SummaryCache();
+
+    @Getter
+    @Setter
+    public static class SummaryCache {
+        private Integer maxSize = 10000;
+        private Long ttl = 300000L;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.project_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+    private Integer iterations = 200;
+    private Long maxDuration = 30000L;  // ms, the whole warm-up stops after this
+}
@@ -7,6 +7,7 @@ import com.example.project_service.dto.response.ApiResponse;
 import com.example.project_service.dto.response.ProjectAnalyticsResponse;
 import com.example.project_service.dto.response.ProjectMemberResponse;
 import com.example.project_service.dto.response.ProjectResponse;
+import com.example.project_service.service.MemberProfileEnricher;
 import com.example.project_service.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ import java.util.UUID;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final MemberProfileEnricher memberProfileEnricher;
 
     /**
      * Create a new project
@@ -114,16 +116,20 @@ public class ProjectController {
     }
 
     /**
-     * List project members
+     * List project members, with each member's name and avatar when enrich=true
      * GET /api/projects/{id}/members
      */
     @GetMapping("/{id}/members")
     public ResponseEntity<ApiResponse<List<ProjectMemberResponse>>> getProjectMembers(
             @RequestHeader("X-User-Id") UUID userId,
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean enrich) {
 
         log.info("GET /api/projects/{}/members - Fetching members by user: {}", id, userId);
         List<ProjectMemberResponse> members = projectService.getProjectMembers(id, userId);
+        if (enrich) {
+            members = memberProfileEnricher.enrichProjectMembers(members);
+        }
         return ResponseEntity.ok(ApiResponse.success("Project members retrieved successfully", members));
     }
 
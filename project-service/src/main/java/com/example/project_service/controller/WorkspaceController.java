@@ -6,6 +6,7 @@ import com.example.project_service.dto.request.UpdateWorkspaceRequest;
 import com.example.project_service.dto.response.ApiResponse;
 import com.example.project_service.dto.response.WorkspaceMemberResponse;
 import com.example.project_service.dto.response.WorkspaceResponse;
+import com.example.project_service.service.MemberProfileEnricher;
 import com.example.project_service.service.WorkspaceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +25,7 @@ import java.util.UUID;
 public class WorkspaceController {
 
     private final WorkspaceService workspaceService;
+    private final MemberProfileEnricher memberProfileEnricher;
 
     /**
      * Create a new workspace
@@ -97,16 +99,20 @@ public class WorkspaceController {
     }
 
     /**
-     * List workspace members
+     * List workspace members, with each member's name and avatar when enrich=true
      * GET /api/workspaces/{id}/members
      */
     @GetMapping("/{id}/members")
     public ResponseEntity<ApiResponse<List<WorkspaceMemberResponse>>> getWorkspaceMembers(
             @RequestHeader("X-User-Id") UUID userId,
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "false") boolean enrich) {
 
         log.info("GET /api/workspaces/{}/members - Fetching members by user: {}", id, userId);
         List<WorkspaceMemberResponse> members = workspaceService.getWorkspaceMembers(id, userId);
+        if (enrich) {
+            members = memberProfileEnricher.enrichWorkspaceMembers(members);
+        }
         return ResponseEntity.ok(ApiResponse.success("Workspace members retrieved successfully", members));
     }
 
@@ -1,6 +1,7 @@
 package com.example.project_service.dto.response;
 
 import com.example.project_service.enums.ProjectRole;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,4 +19,8 @@ public class ProjectMemberResponse {
     private UUID userId;
     private ProjectRole role;
     private LocalDateTime joinedAt;
+
+    // Only with ?enrich=true
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserSummaryResponse user;
 }
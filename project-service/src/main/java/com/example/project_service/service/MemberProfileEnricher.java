@@ -0,0 +1,38 @@
+package com.example.project_service.service;
+
+import com.example.project_service.client.UserSummaryClient;
+import com.example.project_service.dto.response.ProjectMemberResponse;
+import com.example.project_service.dto.response.UserSummaryResponse;
+import com.example.project_service.dto.response.WorkspaceMemberResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Attaches each member's name and avatar with one {@link UserSummaryClient} lookup per list.
+ * Called from the controllers, after the service transaction has ended, so no database
+ * connection is held during the upstream call.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberProfileEnricher {
+
+    private final UserSummaryClient userSummaryClient;
+
+    public List<ProjectMemberResponse> enrichProjectMembers(List<ProjectMemberResponse> members) {
+        Map<UUID, UserSummaryResponse> summaries = userSummaryClient.getSummaries(
+                members.stream().map(ProjectMemberResponse::getUserId).distinct().toList());
+        members.forEach(member -> member.setUser(summaries.get(member.getUserId())));
+        return members;
+    }
+
+    public List<WorkspaceMemberResponse> enrichWorkspaceMembers(List<WorkspaceMemberResponse> members) {
+        Map<UUID, UserSummaryResponse> summaries = userSummaryClient.getSummaries(
+                members.stream().map(WorkspaceMemberResponse::getUserId).distinct().toList());
+        members.forEach(member -> member.setUser(summaries.get(member.getUserId())));
+        return members;
+    }
+}
@@ -109,7 +109,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     @Transactional(readOnly = true)
     public List<ProjectResponse> getUserProjects(UUID userId, UUID workspaceId) {
-        log.info("Fetching projects for user: {} in workspace: {}", userId, workspaceId);
+        log.debug("Fetching projects for user: {} in workspace: {}", userId, workspaceId);
 
         List<Project> projects;
         if (workspaceId != null) {
@@ -128,7 +128,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     @Transactional(readOnly = true)
     public ProjectResponse getProjectById(UUID projectId, UUID userId) {
-        log.info("Fetching project: {} for user: {}", projectId, userId);
+        log.debug("Fetching project: {} for user: {}", projectId, userId);
 
         Project project = getActiveProject(projectId);
         validateProjectAccess(projectId, project.getWorkspace().getId(), userId);
@@ -194,7 +194,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     @Transactional(readOnly = true)
     public ProjectAnalyticsResponse getProjectAnalytics(UUID projectId, UUID userId) {
-        log.info("Fetching analytics for project: {} by user: {}", projectId, userId);
+        log.debug("Fetching analytics for project: {} by user: {}", projectId, userId);
 
         Project project = getActiveProject(projectId);
         validateProjectAccess(projectId, project.getWorkspace().getId(), userId);
@@ -221,7 +221,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     @Transactional(readOnly = true)
     public List<ProjectMemberResponse> getProjectMembers(UUID projectId, UUID userId) {
-        log.info("Fetching members for project: {} by user: {}", projectId, userId);
+        log.debug("Fetching members for project: {} by user: {}", projectId, userId);
 
         Project project = getActiveProject(projectId);
         validateProjectAccess(projectId, project.getWorkspace().getId(), userId);
@@ -71,7 +71,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     @Override
     @Transactional(readOnly = true)
     public List<WorkspaceResponse> getUserWorkspaces(UUID userId) {
-        log.info("Fetching workspaces for user: {}", userId);
+        log.debug("Fetching workspaces for user: {}", userId);
         List<Workspace> workspaces = workspaceRepository.findAllByMemberUserId(userId);
         return workspaceMapper.toResponseList(workspaces);
     }
@@ -79,7 +79,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     @Override
     @Transactional(readOnly = true)
     public WorkspaceResponse getWorkspaceById(UUID workspaceId, UUID userId) {
-        log.info("Fetching workspace: {} for user: {}", workspaceId, userId);
+        log.debug("Fetching workspace: {} for user: {}", workspaceId, userId);
 
         Workspace workspace = getActiveWorkspace(workspaceId);
         validateWorkspaceMembership(workspaceId, userId);
@@ -135,7 +135,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     @Override
     @Transactional(readOnly = true)
     public List<WorkspaceMemberResponse> getWorkspaceMembers(UUID workspaceId, UUID userId) {
-        log.info("Fetching members for workspace: {} by user: {}", workspaceId, userId);
+        log.debug("Fetching members for workspace: {} by user: {}", workspaceId, userId);
 
         getActiveWorkspace(workspaceId);
         validateWorkspaceMembership(workspaceId, userId);
@@ -0,0 +1,126 @@
+package com.example.project_service.client;
+
+import com.example.project_service.config.AuthServiceProperties;
+import com.example.project_service.dto.response.UserSummaryResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Against a stub of auth-service's {@code POST /users/summaries} that answers with a
+ * summary for every id it is asked about and records each call's ids.
+ */
+class UserSummaryClientTest {
+
+    private static final String API_KEY = "test-internal-key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<UUID>> calls = new CopyOnWriteArrayList<>();
+    private volatile boolean failing;
+
+    private HttpServer server;
+    private UserSummaryClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/auth/users/summaries", exchange -> {
+            if (failing || !API_KEY.equals(exchange.getRequestHeaders().getFirst("X-Internal-Api-Key"))) {
+                exchange.sendResponseHeaders(failing ? 503 : 403, -1);
+                exchange.close();
+                return;
+            }
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            List<UUID> ids = new ArrayList<>();
+            request.get("ids").forEach(id -> ids.add(UUID.fromString(id.asText())));
+            calls.add(ids);
+
+            byte[] body = ids.stream()
+                    .map(id -> "{\"id\":\"" + id + "\",\"firstName\":\"First\",\"lastName\":\"" + id + "\"}")
+                    .collect(Collectors.joining(",", "[", "]"))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        AuthServiceProperties properties = new AuthServiceProperties();
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort() + "/api/auth");
+        properties.setApiKey(API_KEY);
+        client = new UserSummaryClient(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void cachedUsersDoNotCallUpstream() {
+        List<UUID> ids = ids(2);
+
+        Map<UUID, UserSummaryResponse> first = client.getSummaries(ids);
+        Map<UUID, UserSummaryResponse> second = client.getSummaries(ids);
+
+        assertEquals(1, calls.size());
+        assertEquals(Set.copyOf(ids), first.keySet());
+        assertEquals(ids.get(0).toString(), second.get(ids.get(0)).getLastName());
+    }
+
+    @Test
+    void onlyMissesAreFetched() {
+        UUID cached = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        client.getSummaries(List.of(cached));
+
+        Map<UUID, UserSummaryResponse> summaries = client.getSummaries(List.of(cached, missing));
+
+        assertEquals(2, calls.size());
+        assertEquals(List.of(missing), calls.get(1));
+        assertEquals(Set.of(cached, missing), summaries.keySet());
+    }
+
+    @Test
+    void largeListsAreSplitAt500Ids() {
+        List<UUID> ids = ids(1_200);
+
+        Map<UUID, UserSummaryResponse> summaries = client.getSummaries(ids);
+
+        assertEquals(List.of(500, 500, 200), calls.stream().map(List::size).toList());
+        assertEquals(1_200, summaries.size());
+    }
+
+    @Test
+    void upstreamFailureReturnsCachedEntriesOnly() {
+        UUID cached = UUID.randomUUID();
+        client.getSummaries(List.of(cached));
+        failing = true;
+
+        Map<UUID, UserSummaryResponse> summaries = client.getSummaries(List.of(cached, UUID.randomUUID()));
+
+        assertEquals(Set.of(cached), summaries.keySet());
+    }
+
+    private static List<UUID> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+    }
+}
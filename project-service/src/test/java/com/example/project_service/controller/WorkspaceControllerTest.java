@@ -1,8 +1,10 @@
 package com.example.project_service.controller;
 
+import com.example.project_service.client.UserSummaryClient;
 import com.example.project_service.dto.request.AddWorkspaceMemberRequest;
 import com.example.project_service.dto.request.CreateWorkspaceRequest;
 import com.example.project_service.dto.request.UpdateWorkspaceRequest;
+import com.example.project_service.dto.response.UserSummaryResponse;
 import com.example.project_service.enums.WorkspaceRole;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +14,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +40,9 @@ class WorkspaceControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockitoBean
+    private UserSummaryClient userSummaryClient;
+
     private UUID testUserId;
     private UUID anotherUserId;
 
@@ -187,6 +196,25 @@ class WorkspaceControllerTest {
                 .andExpect(jsonPath("$.data[0].role").value("OWNER"));
     }
 
+    @Test
+    void getWorkspaceMembers_Enriched() throws Exception {
+        String workspaceId = createTestWorkspace("test-workspace-enriched");
+        when(userSummaryClient.getSummaries(anyCollection())).thenReturn(Map.of(testUserId,
+                UserSummaryResponse.builder().id(testUserId).firstName("Ada").lastName("Lovelace").build()));
+
+        mockMvc.perform(get("/api/workspaces/" + workspaceId + "/members")
+                        .param("enrich", "true")
+                        .header("X-User-Id", testUserId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].user.firstName").value("Ada"))
+                .andExpect(jsonPath("$.data[0].user.avatarUrl").doesNotExist());
+
+        mockMvc.perform(get("/api/workspaces/" + workspaceId + "/members")
+                        .header("X-User-Id", testUserId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].user").doesNotExist());
+    }
+
     private String createTestWorkspace(String slug) throws Exception {
         CreateWorkspaceRequest request = CreateWorkspaceRequest.builder()
                 .name("Test Workspace")
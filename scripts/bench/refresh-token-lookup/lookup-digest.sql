@@ -0,0 +1,3 @@
+\set n random(1, 100000)
+SELECT rt.* FROM rt_bench.rt_digest rt
+WHERE rt.token_hash = (SELECT sha256(convert_to(token, 'UTF8')) FROM rt_bench.probe WHERE n = :n);
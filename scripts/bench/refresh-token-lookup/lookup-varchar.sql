@@ -0,0 +1,3 @@
+\set n random(1, 100000)
+SELECT rt.* FROM rt_bench.rt_varchar rt
+WHERE rt.token = (SELECT token FROM rt_bench.probe WHERE n = :n);
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+#
+# Refresh-token lookup latency, V1 (VARCHAR token) vs V2 (SHA-256 digest) layout.
+#
+# Usage: scripts/bench/refresh-token-lookup/run.sh [rows] [seconds]
+# Connection settings come from the usual PG* environment variables.
+# Both scripts pay the same probe-table lookup; the digest script also hashes the
+# token in SQL, which the application does in Java.
+
+set -euo pipefail
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+ROWS="${1:-10000000}"
+SECONDS_PER_RUN="${2:-60}"
+CLIENTS="${CLIENTS:-8}"
+
+psql -v ON_ERROR_STOP=1 -v rows="$ROWS" -f "$DIR/setup.sql"
+
+for layout in varchar digest; do
+  echo "== $layout =="
+  pgbench -n -M prepared -c "$CLIENTS" -j "$CLIENTS" -T "$SECONDS_PER_RUN" -f "$DIR/lookup-$layout.sql" \
+    | grep -E 'latency average|tps ='
+done
@@ -0,0 +1,57 @@
+-- Builds two copies of a refresh-token table with :rows rows in a scratch schema:
+--   rt_varchar  the V1 layout (token VARCHAR(512) UNIQUE + idx_..._token)
+--   rt_digest   the V2 layout (token_hash BYTEA UNIQUE)
+-- Tokens are synthetic strings of realistic JWT length (~330 chars).
+
+DROP SCHEMA IF EXISTS rt_bench CASCADE;
+CREATE SCHEMA rt_bench;
+SET search_path = rt_bench;
+
+CREATE TABLE rt_varchar (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    token VARCHAR(512) NOT NULL UNIQUE,
+    expires_at TIMESTAMP NOT NULL,
+    is_revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO rt_varchar (user_id, token, expires_at)
+SELECT gen_random_uuid(),
+       'eyJhbGciOiJIUzI1NiJ9.' || encode(sha512(convert_to(i::text, 'UTF8')), 'base64')
+           || repeat(md5(i::text), 4) || '.' || md5((i * 7)::text),
+       now() + interval '7 days'
+FROM generate_series(1, :rows) AS i;
+
+CREATE INDEX idx_rt_varchar_token ON rt_varchar(token);
+
+CREATE TABLE rt_digest (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    token_hash BYTEA NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    is_revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO rt_digest
+SELECT id, user_id, sha256(convert_to(token, 'UTF8')), expires_at, is_revoked, created_at
+FROM rt_varchar;
+
+ALTER TABLE rt_digest ADD CONSTRAINT uk_rt_digest_token_hash UNIQUE (token_hash);
+
+-- Lookup keys for the pgbench scripts, addressed by a random ordinal
+CREATE TABLE probe AS
+SELECT row_number() OVER () AS n, token
+FROM (SELECT token FROM rt_varchar ORDER BY random() LIMIT 100000) t;
+CREATE UNIQUE INDEX ON probe(n);
+
+VACUUM ANALYZE rt_varchar;
+VACUUM ANALYZE rt_digest;
+VACUUM ANALYZE probe;
+
+SELECT c.relname AS index, pg_size_pretty(pg_relation_size(c.oid)) AS size
+FROM pg_class c
+JOIN pg_namespace n ON n.oid = c.relnamespace
+WHERE n.nspname = 'rt_bench' AND c.relkind = 'i' AND c.relname NOT LIKE 'probe%'
+ORDER BY c.relname;
@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request for each service, launched from the plain
+# extracted jar and again with its CDS archive (and AOT where enabled).
+#
+# Usage: scripts/startup-benchmark.sh [runs] [service...]
+#   runs      launches per service and mode (default 5), the median is reported
+#   service   any of gateway-service auth-service project-service task-service
+#
+# Services must be able to reach their datasources. Extra training/launch
+# arguments can be passed through CDS_TRAINING_ARGS and APP_ARGS.
+# Results are appended to build/startup-benchmark.csv.
+
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${1:-5}"
+shift || true
+if (( $# )); then
+  SERVICES=("$@")
+else
+  SERVICES=(gateway-service auth-service project-service task-service)
+fi
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+TIMEOUT_SECONDS=120
+RESULTS="$ROOT_DIR/build/startup-benchmark.csv"
+
+declare -A PROBE_URL=(
+  [gateway-service]="http://localhost:8080/api/health"
+  [auth-service]="http://localhost:8081/api/auth/actuator/health"
+  [project-service]="http://localhost:8082/actuator/health"
+  [task-service]="http://localhost:8083/actuator/health"
+)
+declare -A AOT=(
+  [auth-service]=true
+  [project-service]=true
+  [task-service]=true
+)
+
+now_ms() { date +%s%3N; }
+
+# Launches the service and prints milliseconds until the first HTTP response.
+time_to_first_request() {
+  local service="$1" mode="$2"
+  local cds_dir="$ROOT_DIR/$service/build/cds"
+  local jar
+  jar="$(ls "$cds_dir"/*.jar | head -n 1)"
+  local jvm_args=()
+  if [[ "$mode" == "cds" ]]; then
+    jvm_args+=("-XX:SharedArchiveFile=$cds_dir/app.jsa" "-Xlog:cds=off")
+    [[ "${AOT[$service]:-false}" == "true" ]] && jvm_args+=("-Dspring.aot.enabled=true")
+  fi
+
+  local start pid elapsed
+  start="$(now_ms)"
+  "$JAVA" "${jvm_args[@]}" -jar "$jar" ${APP_ARGS:-} > "$ROOT_DIR/build/startup-$service-$mode.log" 2>&1 &
+  pid=$!
+
+  until curl -s -o /dev/null "${PROBE_URL[$service]}"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$service ($mode) exited during startup, see build/startup-$service-$mode.log" >&2
+      return 1
+    fi
+    if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+      kill "$pid"
+      echo "$service ($mode) did not answer within ${TIMEOUT_SECONDS}s" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+median() {
+  sort -n | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2) }'
+}
+
+mkdir -p "$ROOT_DIR/build"
+[[ -f "$RESULTS" ]] || echo "timestamp,service,mode,runs,median_ms" > "$RESULTS"
+
+tasks=()
+for service in "${SERVICES[@]}"; do
+  tasks+=(":$service:cdsArchive")
+done
+"$ROOT_DIR/gradlew" -p "$ROOT_DIR" ${CDS_TRAINING_ARGS:+-PcdsTrainingArgs="$CDS_TRAINING_ARGS"} "${tasks[@]}"
+
+printf '%-18s %12s %12s\n' "service" "jar (ms)" "cds (ms)"
+for service in "${SERVICES[@]}"; do
+  declare -A result=()
+  for mode in jar cds; do
+    samples=()
+    for ((i = 0; i < RUNS; i++)); do
+      samples+=("$(time_to_first_request "$service" "$mode")")
+    done
+    result[$mode]="$(printf '%s\n' "${samples[@]}" | median)"
+    echo "$(date -u +%FT%TZ),$service,$mode,$RUNS,${result[$mode]}" >> "$RESULTS"
+  done
+  printf '%-18s %12s %12s\n' "$service" "${result[jar]}" "${result[cds]}"
+done